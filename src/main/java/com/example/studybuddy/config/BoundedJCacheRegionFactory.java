@@ -0,0 +1,61 @@
+package com.example.studybuddy.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.Cache;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JCache region factory that gives each session factory its own Caffeine cache
+ * manager and creates every region with a size and TTL bound read from the
+ * Hibernate properties {@code studybuddy.cache.regions.<region>.max-entries} and
+ * {@code .ttl-seconds}, falling back to {@code studybuddy.cache.regions.default.*}.
+ * A TTL of 0 disables expiry, which the update-timestamps region relies on.
+ */
+public class BoundedJCacheRegionFactory extends JCacheRegionFactory {
+
+    static final String PREFIX = "studybuddy.cache.regions.";
+    private static final long DEFAULT_MAX_ENTRIES = 10_000;
+    private static final long DEFAULT_TTL_SECONDS = 3600;
+
+    private volatile Map<String, Object> properties = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        this.properties = configValues;
+        super.prepareForUse(settings, configValues);
+    }
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        return URI.create("urn:studybuddy:l2:" + UUID.randomUUID());
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        long maxEntries = setting(regionName, "max-entries", DEFAULT_MAX_ENTRIES);
+        long ttlSeconds = setting(regionName, "ttl-seconds", DEFAULT_TTL_SECONDS);
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        configuration.setStatisticsEnabled(false);
+        return getCacheManager().createCache(regionName, configuration);
+    }
+
+    private long setting(String regionName, String key, long fallback) {
+        Object value = properties.get(PREFIX + regionName + "." + key);
+        if (value == null) {
+            value = properties.get(PREFIX + "default." + key);
+        }
+        return value == null ? fallback : Long.parseLong(value.toString().trim());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.studybuddy.config;
+
+import com.example.studybuddy.model.Question;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes second-level cache hits, misses and hit ratio per region as
+ * {@code hibernate.l2.requests{region,result}} and {@code hibernate.l2.hit.ratio{region}}.
+ * Values come from Hibernate statistics, so {@code hibernate.generate_statistics}
+ * must be on; otherwise they stay at zero.
+ */
+@Component
+public class HibernateCacheMetrics {
+
+    private final Statistics statistics;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry registry) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statistics = sessionFactory.getStatistics();
+
+        Set<String> regions = new TreeSet<>(sessionFactory.getCache().getCacheRegionNames());
+        // query regions are only built on first use
+        regions.add(Question.LISTING_QUERY_CACHE_REGION);
+        for (String region : regions) {
+            FunctionCounter.builder("hibernate.l2.requests", this, m -> m.count(region, CacheRegionStatistics::getHitCount))
+                    .tag("region", region).tag("result", "hit").register(registry);
+            FunctionCounter.builder("hibernate.l2.requests", this, m -> m.count(region, CacheRegionStatistics::getMissCount))
+                    .tag("region", region).tag("result", "miss").register(registry);
+            Gauge.builder("hibernate.l2.hit.ratio", this, m -> m.hitRatio(region))
+                    .tag("region", region).register(registry);
+        }
+    }
+
+    double hitRatio(String region) {
+        long hits = count(region, CacheRegionStatistics::getHitCount);
+        long total = hits + count(region, CacheRegionStatistics::getMissCount);
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private long count(String region, ToLongFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics stats = statistics.isStatisticsEnabled()
+                ? statistics.getCacheRegionStatistics(region) : null;
+        return stats == null ? 0 : value.applyAsLong(stats);
+    }
+}
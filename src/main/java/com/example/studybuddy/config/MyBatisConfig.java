@@ -0,0 +1,31 @@
+package com.example.studybuddy.config;
+
+import com.example.studybuddy.repository.CourseTreeMapper;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.sql.DataSource;
+
+/**
+ * MyBatis for hand-written read queries next to JPA. Mappers are the
+ * {@link Mapper}-annotated interfaces in the repository package, with their SQL in
+ * {@code classpath:mybatis/*.xml}. Statements run on the connection of the
+ * surrounding JPA transaction, so read-only transactions reach the replica too.
+ */
+@Configuration
+@MapperScan(basePackageClasses = CourseTreeMapper.class, annotationClass = Mapper.class)
+public class MyBatisConfig {
+
+    @Bean
+    public SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+        SqlSessionFactoryBean factory = new SqlSessionFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setMapperLocations(new PathMatchingResourcePatternResolver().getResources("classpath:mybatis/*.xml"));
+        return factory.getObject();
+    }
+}
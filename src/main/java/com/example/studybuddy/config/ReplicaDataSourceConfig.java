@@ -0,0 +1,106 @@
+package com.example.studybuddy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a replica pool when
+ * {@code spring.datasource.replica.url} is set; everything else, including work
+ * outside a transaction, stays on the primary. Username and password default to
+ * the primary's, the replica pool is tuned under {@code spring.datasource.replica.hikari.*}.
+ *
+ * <p>The router sits behind a {@link LazyConnectionDataSourceProxy} so the physical
+ * connection is only taken at the first statement, after the transaction manager
+ * has marked the transaction read-only. This relies on
+ * {@code spring.jpa.open-in-view=false}: with a request-scoped EntityManager the
+ * connection taken by the first transaction of a request, possibly the replica's,
+ * would serve every later transaction of that request, writes included.
+ *
+ * <p>Read-only transactions may read the second-level and query caches but never
+ * put into them, so a lagging replica cannot seed them with stale rows.
+ */
+@Configuration
+@ConditionalOnProperty("spring.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, Environment env) {
+        HikariDataSource dataSource = DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(env.getRequiredProperty("spring.datasource.replica.url"))
+                .username(env.getProperty("spring.datasource.replica.username", properties.determineUsername()))
+                .password(env.getProperty("spring.datasource.replica.password", properties.determinePassword()))
+                .build();
+        dataSource.setPoolName(REPLICA);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReadOnlyRoutingDataSource routing = new ReadOnlyRoutingDataSource();
+        routing.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public TransactionExecutionListener replicaReadsDoNotFillCaches(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+                if (beginFailure != null || !transaction.isReadOnly()) {
+                    return;
+                }
+                EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+                if (emf != null && TransactionSynchronizationManager.getResource(emf) instanceof EntityManagerHolder holder) {
+                    holder.getEntityManager().setProperty("jakarta.persistence.cache.storeMode", CacheStoreMode.BYPASS);
+                }
+            }
+        };
+    }
+
+    static class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.studybuddy.controller;
 
 import com.example.studybuddy.dto.LoginRequest;
+import com.example.studybuddy.dto.RefreshRequest;
 import com.example.studybuddy.dto.RegistrationRequest;
 import com.example.studybuddy.dto.UserResponse;
 import com.example.studybuddy.mapper.UserMapper;
 import com.example.studybuddy.model.User;
 import com.example.studybuddy.security.JwtUtils;
+import com.example.studybuddy.security.PasswordHashingBusyException;
+import com.example.studybuddy.security.TokenRevocationService;
+import com.example.studybuddy.security.UserPrincipal;
+import com.example.studybuddy.security.VerifiedToken;
+import com.example.studybuddy.service.RefreshTokenService;
 import com.example.studybuddy.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +19,7 @@ import org.springframework.http.*;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,16 +34,22 @@ public class AuthController {
     private final JwtUtils jwtUtils;
     private final UserService userService;
     private final UserMapper userMapper;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
 
     public AuthController(AuthenticationManager authManager,
                           JwtUtils jwtUtils,
                           UserService userService,
-                          UserMapper userMapper) {
+                          UserMapper userMapper,
+                          RefreshTokenService refreshTokenService,
+                          TokenRevocationService tokenRevocationService) {
         this.authManager = authManager;
         this.jwtUtils = jwtUtils;
         this.userService = userService;
         this.userMapper = userMapper;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping("/register")
@@ -66,6 +79,32 @@ public class AuthController {
         return doAuthenticate(username, password);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshRequest req) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(req.getRefreshToken());
+            String token = jwtUtils.generateToken(UserPrincipal.from(rotation.user()));
+            return ResponseEntity.ok(Map.of("token", token, "refreshToken", rotation.refreshToken()));
+        } catch (BadCredentialsException ex) {
+            logger.warn("Refresh rejected: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "invalid_grant", "error_description", ex.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getDetails() instanceof VerifiedToken)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        VerifiedToken current = (VerifiedToken) auth.getDetails();
+        tokenRevocationService.revoke(current.tokenId(), current.expiresAt());
+        if (auth.getPrincipal() instanceof UserPrincipal) {
+            refreshTokenService.revokeAll(((UserPrincipal) auth.getPrincipal()).getId());
+        }
+        return ResponseEntity.noContent().build();
+    }
 
     private ResponseEntity<?> doAuthenticate(String username, String password) {
         Objects.requireNonNull(username);
@@ -76,9 +115,15 @@ public class AuthController {
                     new UsernamePasswordAuthenticationToken(username, password)
             );
 
-            String token = jwtUtils.generateToken(auth.getName());
+            String token = jwtUtils.generateToken(auth);
+            if (auth.getPrincipal() instanceof UserPrincipal) {
+                String refreshToken = refreshTokenService.issue(((UserPrincipal) auth.getPrincipal()).getId());
+                return ResponseEntity.ok(Map.of("token", token, "refreshToken", refreshToken));
+            }
             return ResponseEntity.ok(Map.of("token", token));
 
+        } catch (PasswordHashingBusyException ex) {
+            throw ex;
         } catch (BadCredentialsException ex) {
             logger.warn("Bad credentials for user {}", username);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
@@ -1,49 +1,95 @@
 package com.example.studybuddy.controller;
 
 import com.example.studybuddy.dto.CourseDTO;
+import com.example.studybuddy.dto.CourseTreeDTO;
 import com.example.studybuddy.dto.CreateCourseDTO;
 import com.example.studybuddy.model.Course;
+import com.example.studybuddy.service.CourseExportService;
 import com.example.studybuddy.service.CourseService;
+import com.example.studybuddy.service.CourseTreeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/courses")
 @Tag(name = "Courses")
 public class CourseController {
 
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final CourseService courseService;
+    private final CourseExportService courseExportService;
+    private final CourseTreeService courseTreeService;
 
-    public CourseController(CourseService courseService) {
+    public CourseController(CourseService courseService, CourseExportService courseExportService,
+                            CourseTreeService courseTreeService) {
         this.courseService = courseService;
+        this.courseExportService = courseExportService;
+        this.courseTreeService = courseTreeService;
     }
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
-    @Operation(summary = "List all courses (admin=all, user=their courses)", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<List<CourseDTO>> findAll() {
-        List<CourseDTO> dtos = courseService.findAllForCurrentUser().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    @Operation(summary = "List courses, paged (admin=all, user=their courses)", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<CourseDTO>> findAll(@ParameterObject @PageableDefault(size = 50, sort = "id") Pageable pageable) {
+        Page<CourseDTO> page = courseService.findPageForCurrentUser(pageable);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()))
+                .eTag(EntityTags.of(page.getContent(), CourseDTO::getId, CourseDTO::getVersion, page.getTotalElements()))
+                .body(page.getContent());
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
-    @Operation(summary = "Get course by ID", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<CourseDTO> findById(@PathVariable Long id) {
+    @Operation(summary = "Get course by ID; answers 304 to a current If-None-Match", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CourseDTO> findById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        courseService.ensureOwnerOrAdmin(id);
+        if (ifNoneMatch != null) {
+            String current = EntityTags.of(courseService.findVersion(id));
+            if (EntityTags.matches(ifNoneMatch, current)) {
+                return EntityTags.notModified(current);
+            }
+        }
+        CourseDTO course = courseService.findDtoById(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(course.getVersion())).body(course);
+    }
+
+    @GetMapping("/{id}/tree")
+    @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
+    @Operation(summary = "Get a course with its quizzes and their questions", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CourseTreeDTO> getTree(@PathVariable Long id) {
         courseService.ensureOwnerOrAdmin(id);
-        Course course = courseService.findById(id);
-        return ResponseEntity.ok(toDTO(course));
+        CourseTreeDTO tree = courseTreeService.findTree(id);
+        return ResponseEntity.ok().eTag(EntityTags.of(tree)).body(tree);
+    }
+
+    @GetMapping(path = "/{id}/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
+    @Operation(summary = "Export a course with its quizzes and questions as NDJSON", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long id) {
+        courseService.ensureOwnerOrAdmin(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"course-" + id + ".ndjson\"")
+                .body(out -> courseExportService.export(id, out));
     }
 
     @PostMapping
@@ -56,19 +102,24 @@ public class CourseController {
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
-    @Operation(summary = "Update a course", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<CourseDTO> update(@PathVariable Long id, @Valid @RequestBody CreateCourseDTO dto) {
-        courseService.ensureOwnerOrAdmin(id);
-        Course updated = courseService.updateFromDto(id, dto);
-        return ResponseEntity.ok(toDTO(updated));
+    @Operation(summary = "Update a course; with If-Match only if it is unchanged", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CourseDTO> update(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CreateCourseDTO dto
+    ) {
+        Course updated = courseService.updateFromDto(id, dto, EntityTags.requiredVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(toDTO(updated));
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or isAuthenticated()")
-    @Operation(summary = "Delete a course", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        courseService.ensureOwnerOrAdmin(id);
-        courseService.deleteById(id);
+    @Operation(summary = "Delete a course; with If-Match only if it is unchanged", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        courseService.deleteById(id, EntityTags.requiredVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -78,6 +129,7 @@ public class CourseController {
         dto.setTitle(course.getTitle());
         dto.setDescription(course.getDescription());
         dto.setOwnerId(course.getOwner().getId());
+        dto.setVersion(course.getVersion());
         return dto;
     }
 
@@ -0,0 +1,107 @@
+package com.example.studybuddy.controller;
+
+import com.example.studybuddy.dto.CourseTreeDTO;
+import com.example.studybuddy.dto.QuestionDTO;
+import com.example.studybuddy.dto.QuizTreeDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Strong ETags derived from the {@code @Version} of courses, quizzes and questions.
+ * A single resource is tagged with its version; a listing or course tree with a
+ * digest of the ids and versions it contains, so adding, removing or editing any
+ * entry changes the tag.
+ */
+final class EntityTags {
+
+    /**
+     * Required version for an {@code If-Match} that names none of our tags; no
+     * entity is ever at this version.
+     */
+    static final long NO_MATCH = -1;
+
+    private EntityTags() {}
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param context anything besides the items that shapes the response, such as
+     *                the total count or whether another page follows
+     */
+    static <T> String of(List<T> items, ToLongFunction<T> idOf, ToLongFunction<T> versionOf, Object context) {
+        StringBuilder state = new StringBuilder().append(context);
+        for (T item : items) {
+            state.append(';').append(idOf.applyAsLong(item)).append(':').append(versionOf.applyAsLong(item));
+        }
+        return digest(state);
+    }
+
+    static String of(CourseTreeDTO tree) {
+        StringBuilder state = new StringBuilder().append(tree.getId()).append(':').append(tree.getVersion());
+        for (QuizTreeDTO quiz : tree.getQuizzes()) {
+            state.append(';').append(quiz.getId()).append(':').append(quiz.getVersion());
+            for (QuestionDTO question : quiz.getQuestions()) {
+                state.append(',').append(question.getId()).append(':').append(question.getVersion());
+            }
+        }
+        return digest(state);
+    }
+
+    /**
+     * Whether {@code If-None-Match} matches {@code etag}, using the weak comparison
+     * RFC 9110 prescribes for that header.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The version an {@code If-Match} header requires: null when it is absent or
+     * {@code *}, otherwise the version in its single strong tag, or
+     * {@link #NO_MATCH} for anything else.
+     */
+    static Long requiredVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                long version = Long.parseLong(tag.substring(1, tag.length() - 1));
+                if (version >= 0) {
+                    return version;
+                }
+            } catch (NumberFormatException e) {
+                // not one of ours
+            }
+        }
+        return NO_MATCH;
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    private static String digest(CharSequence state) {
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
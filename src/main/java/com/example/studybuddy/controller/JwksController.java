@@ -0,0 +1,27 @@
+package com.example.studybuddy.controller;
+
+import com.example.studybuddy.security.JwtKeyService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+public class JwksController {
+
+    private final JwtKeyService keyService;
+
+    public JwksController(JwtKeyService keyService) {
+        this.keyService = keyService;
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(keyService.jwks());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.studybuddy.controller;
+
+import com.example.studybuddy.service.KeysetPage;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque {@code after} cursors for keyset-paginated listings. A cursor wraps the
+ * sort key of the last row on the previous page (its id, or several values for
+ * listings ordered by more than one column) together with the listing it came
+ * from, so it cannot be replayed against another endpoint. The next cursor is
+ * returned in {@value #NEXT_CURSOR_HEADER} and is absent on the last page.
+ */
+final class KeysetCursor {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private KeysetCursor() {}
+
+    static String encode(String scope, long... key) {
+        StringBuilder value = new StringBuilder(scope);
+        for (long part : key) {
+            value.append(':').append(part);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the id to continue after; 0 for a missing cursor
+     */
+    static long decode(String scope, String cursor) {
+        return decode(scope, cursor, 1)[0];
+    }
+
+    /**
+     * @return the {@code size} key values to continue after; all 0 for a missing cursor
+     */
+    static long[] decode(String scope, String cursor, int size) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new long[size];
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = value.split(":", -1);
+            if (parts.length == size + 1 && parts[0].equals(scope)) {
+                long[] key = new long[size];
+                for (int i = 0; i < size; i++) {
+                    key[i] = Long.parseLong(parts[i + 1]);
+                }
+                return key;
+            }
+        } catch (IllegalArgumentException e) {
+            // falls through to the error below
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+
+    static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1 || requested > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return requested;
+    }
+
+    static <T> ResponseEntity<List<T>> respond(String scope, KeysetPage<T> page) {
+        return respond(scope, page, (String) null);
+    }
+
+    /**
+     * @param etag entity tag of the page, or null for none
+     */
+    static <T> ResponseEntity<List<T>> respond(String scope, KeysetPage<T> page, String etag) {
+        return respond(scope, page, page.nextAfter() == null ? null : new long[] {page.nextAfter()}, etag);
+    }
+
+    /**
+     * Like {@link #respond(String, KeysetPage)} for listings whose cursor is the
+     * composite sort key of the last row rather than its id.
+     */
+    static <T> ResponseEntity<List<T>> respond(String scope, KeysetPage<T> page, Function<T, long[]> keyOf, String etag) {
+        return respond(scope, page,
+                page.nextAfter() == null ? null : keyOf.apply(page.items().get(page.items().size() - 1)), etag);
+    }
+
+    private static <T> ResponseEntity<List<T>> respond(String scope, KeysetPage<T> page, long[] next, String etag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (next != null) {
+            response.header(NEXT_CURSOR_HEADER, encode(scope, next));
+        }
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        return response.body(page.items());
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.studybuddy.controller;
 
 import com.example.studybuddy.dto.CreateQuestionDTO;
+import com.example.studybuddy.dto.MoveQuestionDTO;
 import com.example.studybuddy.dto.QuestionDTO;
 import com.example.studybuddy.model.Question;
 import com.example.studybuddy.service.QuestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.example.studybuddy.service.KeysetPage;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,13 +17,15 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/quizzes/{quizId}/questions")
 @Tag(name = "Questions")
 public class QuestionController {
 
+    private static final String CURSOR_SCOPE = "questions";
+
     private final QuestionService questionService;
 
     public QuestionController(QuestionService questionService) {
@@ -29,21 +34,35 @@ public class QuestionController {
 
     @GetMapping
     @Operation(summary = "List questions for a quiz")
-    public ResponseEntity<List<QuestionDTO>> findAll(@PathVariable Long quizId) {
-        List<QuestionDTO> dtos = questionService.findAllByQuiz(quizId).stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<QuestionDTO>> findAll(
+            @PathVariable Long quizId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        long[] key = KeysetCursor.decode(CURSOR_SCOPE, after, 2);
+        KeysetPage<QuestionDTO> page = questionService.findPageByQuiz(quizId, key[0], key[1], KeysetCursor.limit(limit));
+        return KeysetCursor.respond(CURSOR_SCOPE, page, q -> new long[] {q.getPosition(), q.getId()},
+                EntityTags.of(page.items(), QuestionDTO::getId, QuestionDTO::getVersion, page.nextAfter()));
     }
 
     @GetMapping("/{questionId}")
-    @Operation(summary = "Get a question by ID")
-    public ResponseEntity<QuestionDTO> findById(@PathVariable Long quizId, @PathVariable Long questionId) {
-        Question question = questionService.findById(questionId);
-        if (!question.getQuiz().getId().equals(quizId)) {
+    @Operation(summary = "Get a question by ID; answers 304 to a current If-None-Match")
+    public ResponseEntity<QuestionDTO> findById(
+            @PathVariable Long quizId,
+            @PathVariable Long questionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            Optional<String> current = questionService.findVersion(quizId, questionId).map(EntityTags::of);
+            if (current.isPresent() && EntityTags.matches(ifNoneMatch, current.get())) {
+                return EntityTags.notModified(current.get());
+            }
+        }
+        QuestionDTO question = questionService.findDtoById(questionId);
+        if (!question.getQuizId().equals(quizId)) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(toDTO(question));
+        return ResponseEntity.ok().eTag(EntityTags.of(question.getVersion())).body(question);
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
@@ -56,21 +75,38 @@ public class QuestionController {
 
     @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
     @PutMapping("/{questionId}")
-    @Operation(summary = "Update a question", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Update a question; with If-Match only if it is unchanged", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<QuestionDTO> update(
             @PathVariable Long quizId,
             @PathVariable Long questionId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid CreateQuestionDTO dto
     ) {
-        Question updated = questionService.updateQuestion(quizId, questionId, dto);
-        return ResponseEntity.ok(toDTO(updated));
+        Question updated = questionService.updateQuestion(quizId, questionId, dto, EntityTags.requiredVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(toDTO(updated));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
+    @PostMapping("/{questionId}:move")
+    @Operation(summary = "Move a question after another one, or to the top", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<QuestionDTO> move(
+            @PathVariable Long quizId,
+            @PathVariable Long questionId,
+            @RequestBody MoveQuestionDTO dto
+    ) {
+        Question moved = questionService.moveQuestion(quizId, questionId, dto.getAfterQuestionId());
+        return ResponseEntity.ok(toDTO(moved));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
     @DeleteMapping("/{questionId}")
-    @Operation(summary = "Delete a question", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<Void> delete(@PathVariable Long quizId, @PathVariable Long questionId) {
-        questionService.deleteById(quizId, questionId);
+    @Operation(summary = "Delete a question; with If-Match only if it is unchanged", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> delete(
+            @PathVariable Long quizId,
+            @PathVariable Long questionId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        questionService.deleteById(quizId, questionId, EntityTags.requiredVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -81,6 +117,8 @@ public class QuestionController {
         dto.setOptions(q.getOptions());
         dto.setCorrectAnswers(q.getCorrectAnswers());
         dto.setQuizId(q.getQuiz().getId());
+        dto.setPosition(q.getPosition());
+        dto.setVersion(q.getVersion());
         return dto;
     }
 }
@@ -0,0 +1,51 @@
+package com.example.studybuddy.controller;
+
+import com.example.studybuddy.dto.BulkImportResult;
+import com.example.studybuddy.service.QuestionImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/quizzes/{quizId}")
+@Tag(name = "Questions")
+public class QuestionImportController {
+
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+
+    private final QuestionImportService importService;
+
+    public QuestionImportController(QuestionImportService importService) {
+        this.importService = importService;
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
+    @PostMapping(path = "/questions:bulk", consumes = {NDJSON, CSV})
+    @Operation(summary = "Import questions from NDJSON or CSV, one per line", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BulkImportResult> importQuestions(@PathVariable Long quizId, HttpServletRequest request)
+            throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        QuestionImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? QuestionImportService.Format.CSV
+                : QuestionImportService.Format.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        try (Reader reader = new InputStreamReader(request.getInputStream(), charset)) {
+            return ResponseEntity.ok(importService.importQuestions(quizId, format, reader));
+        }
+    }
+}
@@ -8,6 +8,8 @@ import com.example.studybuddy.service.QuizService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import com.example.studybuddy.service.KeysetPage;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,13 +17,14 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/quizzes")
 @Tag(name = "Quizzes")
 public class QuizController {
 
+    private static final String CURSOR_SCOPE = "quizzes";
+
     private final QuizService quizService;
 
     public QuizController(QuizService quizService) {
@@ -29,19 +32,32 @@ public class QuizController {
     }
 
     @GetMapping
-    @Operation(summary = "List quizzes for a course")
-    public ResponseEntity<List<QuizDTO>> findAll() {
-        List<QuizDTO> dtos = quizService.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    @Operation(summary = "List quizzes, optionally for one course; pass X-Next-Cursor back as after")
+    public ResponseEntity<List<QuizDTO>> findAll(
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        KeysetPage<QuizDTO> page = quizService
+                .findPage(courseId, KeysetCursor.decode(CURSOR_SCOPE, after), KeysetCursor.limit(limit));
+        return KeysetCursor.respond(CURSOR_SCOPE, page,
+                EntityTags.of(page.items(), QuizDTO::getId, QuizDTO::getVersion, page.nextAfter()));
     }
 
     @GetMapping("/{quizId}")
-    @Operation(summary = "Get a quiz by ID")
-    public ResponseEntity<QuizDTO> findById(@PathVariable Long quizId) {
-        Quiz quiz = quizService.findById(quizId);
-        return ResponseEntity.ok(toDTO(quiz));
+    @Operation(summary = "Get a quiz by ID; answers 304 to a current If-None-Match")
+    public ResponseEntity<QuizDTO> findById(
+            @PathVariable Long quizId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            String current = EntityTags.of(quizService.findVersion(quizId));
+            if (EntityTags.matches(ifNoneMatch, current)) {
+                return EntityTags.notModified(current);
+            }
+        }
+        QuizDTO quiz = quizService.findDtoById(quizId);
+        return ResponseEntity.ok().eTag(EntityTags.of(quiz.getVersion())).body(quiz);
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
@@ -54,20 +70,24 @@ public class QuizController {
 
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{quizId}")
-    @Operation(summary = "Update a quiz", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Update a quiz; with If-Match only if it is unchanged", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<QuizDTO> update(
             @PathVariable Long quizId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid QuizDTO dto
     ) {
-        Quiz updated = quizService.update(quizId, fromDTO(dto));
-        return ResponseEntity.ok(toDTO(updated));
+        Quiz updated = quizService.update(quizId, fromDTO(dto), EntityTags.requiredVersion(ifMatch));
+        return ResponseEntity.ok().eTag(EntityTags.of(updated.getVersion())).body(toDTO(updated));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{quizId}")
-    @Operation(summary = "Delete a quiz", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<Void> delete(@PathVariable Long quizId) {
-        quizService.deleteById(quizId);
+    @Operation(summary = "Delete a quiz; with If-Match only if it is unchanged", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> delete(
+            @PathVariable Long quizId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        quizService.deleteById(quizId, EntityTags.requiredVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
@@ -76,6 +96,7 @@ public class QuizController {
         dto.setId(quiz.getId());
         dto.setTitle(quiz.getTitle());
         dto.setCourseId(quiz.getCourse().getId());
+        dto.setVersion(quiz.getVersion());
         return dto;
     }
 
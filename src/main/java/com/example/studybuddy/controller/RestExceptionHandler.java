@@ -1,8 +1,12 @@
 package com.example.studybuddy.controller;
 
+import com.example.studybuddy.security.PasswordHashingBusyException;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -10,6 +14,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -35,6 +40,14 @@ public class RestExceptionHandler {
                 .body(Map.of("error", "Forbidden", "message", ex.getMessage()));
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handleHashingBusy(PasswordHashingBusyException ex) {
+        log.warn("Password hashing pool saturated, rejecting request");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(Map.of("error", "Too Many Requests", "message", ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> handleBadArgument(IllegalArgumentException ex) {
         log.debug("Bad argument: {}", ex.getMessage());
@@ -43,6 +56,34 @@ public class RestExceptionHandler {
                 .body(Map.of("error", "Bad Request", "message", ex.getMessage() != null ? ex.getMessage() : ""));
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(DataIntegrityViolationException ex) {
+        log.debug("Constraint violation: {}", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "Conflict", "message", "The request conflicts with existing data"));
+    }
+
+    /**
+     * 412 when the client's {@code If-Match} no longer matches; 409 when the row
+     * changed under a request that sent no precondition.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleStaleVersion(OptimisticLockingFailureException ex,
+                                                                  WebRequest request) {
+        log.debug("Stale version: {}", ex.getMessage());
+        if (request.getHeader(HttpHeaders.IF_MATCH) == null) {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Conflict",
+                            "message", "The resource was modified concurrently; fetch it again and retry"));
+        }
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("error", "Precondition Failed",
+                        "message", "The resource has been modified; fetch it again and retry"));
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleNotFound(EntityNotFoundException ex) {
         log.debug("Not found: {}", ex.getMessage());
@@ -1,12 +1,15 @@
 package com.example.studybuddy.controller;
 
 import com.example.studybuddy.security.JwtUtils;
+import com.example.studybuddy.security.UserPrincipal;
+import com.example.studybuddy.service.RefreshTokenService;
 import org.springframework.http.*;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -14,16 +17,22 @@ public class TokenController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
+    private final RefreshTokenService refreshTokenService;
 
     public TokenController(AuthenticationManager authenticationManager,
-                           JwtUtils jwtUtils) {
+                           JwtUtils jwtUtils,
+                           RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping(value = "/oauth/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
     public ResponseEntity<Map<String, Object>> token(@RequestParam MultiValueMap<String,String> form) {
         String grantType = form.getFirst("grant_type");
+        if ("refresh_token".equals(grantType)) {
+            return refresh(form.getFirst("refresh_token"));
+        }
         if (grantType == null || !grantType.equals("password")) {
             return ResponseEntity.badRequest().body(Map.of("error", "unsupported_grant_type"));
         }
@@ -39,16 +48,37 @@ public class TokenController {
                     new UsernamePasswordAuthenticationToken(username, password)
             );
 
-            String token = jwtUtils.generateToken(username);
-            long expiresInSeconds = (jwtUtils.getExpirationMs() / 1000L);
+            String token = jwtUtils.generateToken(auth);
+            String refreshToken = auth.getPrincipal() instanceof UserPrincipal
+                    ? refreshTokenService.issue(((UserPrincipal) auth.getPrincipal()).getId())
+                    : null;
+            return ResponseEntity.ok(tokenResponse(token, refreshToken));
+        } catch (BadCredentialsException ex) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "invalid_grant"));
+        }
+    }
 
-            return ResponseEntity.ok(Map.of(
-                    "access_token", token,
-                    "token_type", "bearer",
-                    "expires_in", expiresInSeconds
-            ));
+    private ResponseEntity<Map<String, Object>> refresh(String refreshToken) {
+        if (refreshToken == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "invalid_request"));
+        }
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+            String token = jwtUtils.generateToken(UserPrincipal.from(rotation.user()));
+            return ResponseEntity.ok(tokenResponse(token, rotation.refreshToken()));
         } catch (BadCredentialsException ex) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "invalid_grant"));
         }
     }
+
+    private Map<String, Object> tokenResponse(String accessToken, String refreshToken) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("access_token", accessToken);
+        body.put("token_type", "bearer");
+        body.put("expires_in", jwtUtils.getExpirationMs() / 1000L);
+        if (refreshToken != null) {
+            body.put("refresh_token", refreshToken);
+        }
+        return body;
+    }
 }
@@ -13,7 +13,6 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -22,6 +21,8 @@ public class UserController {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
 
+    private static final String CURSOR_SCOPE = "users";
+
     private static final Set<String> ALLOWED_ROLES =
             Set.of("ADMIN", "INSTRUCTOR", "STUDENT");
 
@@ -32,11 +33,13 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAll() {
-        List<UserResponse> users = userService.findAll().stream()
-                .map(userMapper::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserResponse>> getAll(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return KeysetCursor.respond(CURSOR_SCOPE, userService
+                .findPage(KeysetCursor.decode(CURSOR_SCOPE, after), KeysetCursor.limit(limit))
+                .map(userMapper::toResponse));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,41 @@
+package com.example.studybuddy.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResult {
+    private long imported;
+    private long failed;
+    private List<LineError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    public long getImported() { return imported; }
+    public void setImported(long imported) { this.imported = imported; }
+
+    public long getFailed() { return failed; }
+    public void setFailed(long failed) { this.failed = failed; }
+
+    public List<LineError> getErrors() { return errors; }
+    public void setErrors(List<LineError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public static class LineError {
+        private long line;
+        private String message;
+
+        public LineError() {}
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -1,11 +1,27 @@
 package com.example.studybuddy.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class CourseDTO {
     private Long id;
     private String title;
     private String description;
     private Long ownerId;
 
+    // Sent as the ETag header rather than in the body.
+    @JsonIgnore
+    private long version;
+
+    public CourseDTO() {}
+
+    public CourseDTO(Long id, String title, String description, Long ownerId, long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.ownerId = ownerId;
+        this.version = version;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getTitle() { return title; }
@@ -14,4 +30,6 @@ public class CourseDTO {
     public void setDescription(String description) { this.description = description; }
     public Long getOwnerId() { return ownerId; }
     public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
 }
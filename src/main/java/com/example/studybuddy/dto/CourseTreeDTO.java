@@ -0,0 +1,29 @@
+package com.example.studybuddy.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CourseTreeDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private Long ownerId;
+    @JsonIgnore
+    private long version;
+    private List<QuizTreeDTO> quizzes = new ArrayList<>();
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public Long getOwnerId() { return ownerId; }
+    public void setOwnerId(Long ownerId) { this.ownerId = ownerId; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    public List<QuizTreeDTO> getQuizzes() { return quizzes; }
+    public void setQuizzes(List<QuizTreeDTO> quizzes) { this.quizzes = quizzes; }
+}
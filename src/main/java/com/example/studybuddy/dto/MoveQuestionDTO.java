@@ -0,0 +1,13 @@
+package com.example.studybuddy.dto;
+
+/**
+ * Target of a question move: the question it should follow, or {@code null} to
+ * move it to the top of the quiz.
+ */
+public class MoveQuestionDTO {
+
+    private Long afterQuestionId;
+
+    public Long getAfterQuestionId() { return afterQuestionId; }
+    public void setAfterQuestionId(Long afterQuestionId) { this.afterQuestionId = afterQuestionId; }
+}
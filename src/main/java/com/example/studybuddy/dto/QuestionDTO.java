@@ -1,6 +1,7 @@
 package com.example.studybuddy.dto;
 
-
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.example.studybuddy.model.AnswerKey;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -26,6 +27,29 @@ public class QuestionDTO {
     @NotNull(message = "Quiz ID is required")
     private Long quizId;
 
+    private Long position;
+
+    @JsonIgnore
+    private long version;
+
+    public QuestionDTO() {
+    }
+
+    /**
+     * Projection constructor. {@code options} and {@code answerKey} are null for rows
+     * whose options still live in the legacy tables.
+     */
+    public QuestionDTO(Long id, String text, List<String> options, AnswerKey answerKey, Long quizId, Long position,
+                       long version) {
+        this.id = id;
+        this.text = text;
+        this.options = options;
+        this.correctAnswers = answerKey == null ? null : answerKey.toList();
+        this.quizId = quizId;
+        this.position = position;
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -66,4 +90,20 @@ public class QuestionDTO {
         this.quizId = quizId;
     }
 
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
 }
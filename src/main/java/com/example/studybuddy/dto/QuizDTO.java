@@ -1,5 +1,6 @@
 package com.example.studybuddy.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -15,6 +16,19 @@ public class QuizDTO {
     @NotNull(message = "Course ID is required")
     private Long courseId;
 
+    @JsonIgnore
+    private long version;
+
+    public QuizDTO() {
+    }
+
+    public QuizDTO(Long id, String title, Long courseId, long version) {
+        this.id = id;
+        this.title = title;
+        this.courseId = courseId;
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -38,4 +52,12 @@ public class QuizDTO {
     public void setCourseId(Long courseId) {
         this.courseId = courseId;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
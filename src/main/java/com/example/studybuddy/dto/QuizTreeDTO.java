@@ -0,0 +1,23 @@
+package com.example.studybuddy.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class QuizTreeDTO {
+    private Long id;
+    private String title;
+    @JsonIgnore
+    private long version;
+    private List<QuestionDTO> questions = new ArrayList<>();
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    public List<QuestionDTO> getQuestions() { return questions; }
+    public void setQuestions(List<QuestionDTO> questions) { this.questions = questions; }
+}
@@ -0,0 +1,82 @@
+package com.example.studybuddy.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set of correct option indices packed into a single {@code long}, one bit per
+ * option. Immutable; supports up to {@link #MAX_OPTIONS} options.
+ */
+public final class AnswerKey {
+    public static final int MAX_OPTIONS = 64;
+    public static final AnswerKey EMPTY = new AnswerKey(0L);
+
+    private final long mask;
+
+    private AnswerKey(long mask) {
+        this.mask = mask;
+    }
+
+    public static AnswerKey ofMask(long mask) {
+        return mask == 0L ? EMPTY : new AnswerKey(mask);
+    }
+
+    public static AnswerKey of(Collection<Integer> indices) {
+        long mask = 0L;
+        if (indices != null) {
+            for (Integer idx : indices) {
+                if (idx == null || idx < 0 || idx >= MAX_OPTIONS) {
+                    throw new IllegalArgumentException("correctAnswers contains invalid index: " + idx);
+                }
+                mask |= 1L << idx;
+            }
+        }
+        return ofMask(mask);
+    }
+
+    public boolean isCorrect(int index) {
+        return index >= 0 && index < MAX_OPTIONS && (mask & (1L << index)) != 0;
+    }
+
+    public int count() {
+        return Long.bitCount(mask);
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    public int[] indices() {
+        int[] result = new int[Long.bitCount(mask)];
+        long rest = mask;
+        for (int i = 0; rest != 0; i++) {
+            result[i] = Long.numberOfTrailingZeros(rest);
+            rest &= rest - 1;
+        }
+        return result;
+    }
+
+    public List<Integer> toList() {
+        List<Integer> list = new ArrayList<>(Long.bitCount(mask));
+        for (int idx : indices()) {
+            list.add(idx);
+        }
+        return list;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof AnswerKey && ((AnswerKey) o).mask == mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mask);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
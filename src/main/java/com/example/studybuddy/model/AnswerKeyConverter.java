@@ -0,0 +1,18 @@
+package com.example.studybuddy.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class AnswerKeyConverter implements AttributeConverter<AnswerKey, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(AnswerKey key) {
+        return key == null ? null : key.mask();
+    }
+
+    @Override
+    public AnswerKey convertToEntityAttribute(Long mask) {
+        return mask == null ? null : AnswerKey.ofMask(mask);
+    }
+}
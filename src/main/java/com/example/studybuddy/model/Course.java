@@ -1,15 +1,23 @@
 package com.example.studybuddy.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Course.CACHE_REGION)
+@Table(name = "courses", indexes = @Index(name = "idx_courses_owner_id", columnList = "owner_id"))
+@NamedEntityGraph(name = Course.GRAPH_AUTHORIZATION, attributeNodes = @NamedAttributeNode("owner"))
 public class Course {
+    public static final String CACHE_REGION = "course";
+    public static final String GRAPH_AUTHORIZATION = "Course.authorization";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -25,6 +33,9 @@ public class Course {
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Quiz> quizzes = new HashSet<>();
 
+    @Version
+    private long version;
+
     public Course() {}
 
     public Course(String title, String description, User owner) {
@@ -45,6 +56,8 @@ public class Course {
     public User getOwner() { return owner; }
     public void setOwner(User owner) { this.owner = owner; }
 
+    public long getVersion() { return version; }
+
     public Set<Quiz> getQuizzes() { return quizzes; }
     public void setQuizzes(Set<Quiz> quizzes) { this.quizzes = quizzes; }
 
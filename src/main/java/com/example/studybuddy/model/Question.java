@@ -1,39 +1,76 @@
 package com.example.studybuddy.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "questions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Question.CACHE_REGION)
+@Table(name = "questions", indexes = @Index(name = "idx_questions_quiz_position", columnList = "quiz_id, position, id"))
+@DynamicUpdate
 public class Question {
+    public static final String CACHE_REGION = "question";
+    public static final String OPTIONS_CACHE_REGION = "question.options";
+    public static final String ANSWERS_CACHE_REGION = "question.answers";
+    public static final String LISTING_QUERY_CACHE_REGION = "question.listing";
+    /** Spacing between consecutive positions after an append or a renumbering. */
+    public static final long POSITION_GAP = 1L << 16;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_seq")
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 1000)
     private String text;
 
-    @ElementCollection
-    @CollectionTable(name = "question_options", joinColumns = @JoinColumn(name = "question_id"))
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "options_json", length = 65535)
+    private List<String> options = List.of();
+
+    @Convert(converter = AnswerKeyConverter.class)
+    @Column(name = "answer_mask")
+    private AnswerKey answerKey = AnswerKey.EMPTY;
+
+    // Rows written before options/answers were packed into the columns above.
+    // Only read while options_json is still null; QuestionStorageMigrator moves
+    // them over and empties these tables.
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "question_options", joinColumns = @JoinColumn(name = "question_id"),
+            indexes = @Index(name = "idx_question_options_question_id", columnList = "question_id"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = OPTIONS_CACHE_REGION)
     @Column(name = "option_text")
-    private List<String> options = new ArrayList<>();
+    private List<String> legacyOptions = new ArrayList<>();
 
-    @ElementCollection
-    @CollectionTable(name = "question_answers", joinColumns = @JoinColumn(name = "question_id"))
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "question_answers", joinColumns = @JoinColumn(name = "question_id"),
+            indexes = @Index(name = "idx_question_answers_question_id", columnList = "question_id"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ANSWERS_CACHE_REGION)
     @Column(name = "correct_index")
-    private List<Integer> correctAnswers = new ArrayList<>();
+    private List<Integer> legacyCorrectAnswers = new ArrayList<>();
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "quiz_id")
     private Quiz quiz;
 
+    // Sort key within the quiz, ties broken by id. Kept sparse so a move only
+    // rewrites the moved row.
+    @Column(nullable = false)
+    private long position;
+
+    @Version
+    private long version;
+
     public Question() {}
 
     public Question(String text, List<String> options, List<Integer> correctAnswers, Quiz quiz) {
         this.text = text;
-        this.options = options;
-        this.correctAnswers = correctAnswers;
+        setOptions(options);
+        setCorrectAnswers(correctAnswers);
         this.quiz = quiz;
     }
 
@@ -43,22 +80,34 @@ public class Question {
     public String getText() { return text; }
     public void setText(String text) { this.text = text; }
 
-    public List<String> getOptions() { return options; }
+    public List<String> getOptions() {
+        return options != null ? options : List.copyOf(legacyOptions);
+    }
+
     public void setOptions(List<String> opts) {
-        this.options.clear();
-        if (opts != null) {
-            this.options.addAll(opts);
+        if (this.options == null) {
+            this.legacyOptions.clear();
         }
+        this.options = opts == null ? List.of() : List.copyOf(opts);
+    }
+
+    public AnswerKey getAnswerKey() {
+        return answerKey != null ? answerKey : AnswerKey.of(legacyCorrectAnswers);
     }
 
-    public List<Integer> getCorrectAnswers() { return correctAnswers; }
+    public List<Integer> getCorrectAnswers() { return getAnswerKey().toList(); }
     public void setCorrectAnswers(List<Integer> ans) {
-        this.correctAnswers.clear();
-        if (ans != null) {
-            this.correctAnswers.addAll(ans);
+        if (this.answerKey == null) {
+            this.legacyCorrectAnswers.clear();
         }
+        this.answerKey = AnswerKey.of(ans);
     }
 
     public Quiz getQuiz() { return quiz; }
     public void setQuiz(Quiz quiz) { this.quiz = quiz; }
+
+    public long getPosition() { return position; }
+    public void setPosition(long position) { this.position = position; }
+
+    public long getVersion() { return version; }
 }
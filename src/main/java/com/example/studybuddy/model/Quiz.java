@@ -1,26 +1,36 @@
 package com.example.studybuddy.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "quizzes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Quiz.CACHE_REGION)
+@Table(name = "quizzes", indexes = @Index(name = "idx_quizzes_course_id", columnList = "course_id, id"))
 public class Quiz {
+    public static final String CACHE_REGION = "quiz";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quizzes_seq")
+    @SequenceGenerator(name = "quizzes_seq", sequenceName = "quizzes_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "course_id")
     private Course course;
 
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Question> questions = new HashSet<>();
 
+    @Version
+    private long version;
+
     public Quiz() {}
 
     public Quiz(String title, Course course) {
@@ -37,6 +47,8 @@ public class Quiz {
     public Course getCourse() { return course; }
     public void setCourse(Course course) { this.course = course; }
 
+    public long getVersion() { return version; }
+
     public Set<Question> getQuestions() { return questions; }
     public void setQuestions(Set<Question> questions) { this.questions = questions; }
 }
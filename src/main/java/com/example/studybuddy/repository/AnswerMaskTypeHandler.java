@@ -0,0 +1,41 @@
+package com.example.studybuddy.repository;
+
+import com.example.studybuddy.model.AnswerKey;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Reads the packed {@code answer_mask} column as the list of correct option indices.
+ */
+public class AnswerMaskTypeHandler extends BaseTypeHandler<List<Integer>> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, List<Integer> parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setLong(i, AnswerKey.of(parameter).mask());
+    }
+
+    @Override
+    public List<Integer> getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        long mask = rs.getLong(columnName);
+        return rs.wasNull() ? null : AnswerKey.ofMask(mask).toList();
+    }
+
+    @Override
+    public List<Integer> getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        long mask = rs.getLong(columnIndex);
+        return rs.wasNull() ? null : AnswerKey.ofMask(mask).toList();
+    }
+
+    @Override
+    public List<Integer> getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        long mask = cs.getLong(columnIndex);
+        return cs.wasNull() ? null : AnswerKey.ofMask(mask).toList();
+    }
+}
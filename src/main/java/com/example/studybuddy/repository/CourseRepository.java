@@ -1,10 +1,51 @@
 package com.example.studybuddy.repository;
 
+import com.example.studybuddy.dto.CourseDTO;
 import com.example.studybuddy.model.Course;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
+import java.util.Optional;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
-    List<Course> findAllByOwnerUsername(String username);
+    String DTO_SELECT = "select new com.example.studybuddy.dto.CourseDTO(c.id, c.title, c.description, c.owner.id, c.version) from Course c";
+
+    @Query(value = DTO_SELECT, countQuery = "select count(c) from Course c")
+    Page<CourseDTO> findDtos(Pageable pageable);
+
+    @Query(value = DTO_SELECT + " where c.owner.id = :ownerId",
+            countQuery = "select count(c) from Course c where c.owner.id = :ownerId")
+    Page<CourseDTO> findDtosByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(DTO_SELECT + " where c.id = :id")
+    Optional<CourseDTO> findDtoById(@Param("id") Long id);
+
+    @Query("select c.version from Course c where c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Course c where c.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Course c where c.id = :id and c.version = :version")
+    int deleteInBulkByIdAndVersion(@Param("id") Long id, @Param("version") long version);
+
     boolean existsByOwnerId(Long ownerId);
+
+    @Query("select c.owner.id from Course c where c.id = :id")
+    Optional<Long> findOwnerIdById(@Param("id") Long id);
+
+    @Override
+    @EntityGraph(Course.GRAPH_AUTHORIZATION)
+    List<Course> findAll();
+
+    @EntityGraph(Course.GRAPH_AUTHORIZATION)
+    Optional<Course> findWithOwnerById(Long id);
 }
@@ -0,0 +1,42 @@
+package com.example.studybuddy.repository;
+
+import com.example.studybuddy.dto.CourseTreeDTO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * MyBatis read path for a whole course; statements live in
+ * {@code mybatis/CourseTreeMapper.xml}.
+ */
+@Mapper
+public interface CourseTreeMapper {
+
+    /**
+     * The course with its quizzes and their questions, in quiz id and question
+     * position order, from a single joined select. Questions not yet packed by
+     * QuestionStorageMigrator have null options and answers.
+     */
+    CourseTreeDTO findTree(@Param("courseId") Long courseId);
+
+    /**
+     * Legacy option rows of the course's unpacked questions.
+     */
+    List<LegacyValue<String>> findLegacyOptions(@Param("courseId") Long courseId);
+
+    /**
+     * Legacy correct-answer rows of the course's unpacked questions.
+     */
+    List<LegacyValue<Integer>> findLegacyAnswers(@Param("courseId") Long courseId);
+
+    class LegacyValue<T> {
+        private Long questionId;
+        private T value;
+
+        public Long getQuestionId() { return questionId; }
+        public void setQuestionId(Long questionId) { this.questionId = questionId; }
+        public T getValue() { return value; }
+        public void setValue(T value) { this.value = value; }
+    }
+}
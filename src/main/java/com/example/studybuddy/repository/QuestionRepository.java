@@ -1,9 +1,76 @@
 package com.example.studybuddy.repository;
 
+import com.example.studybuddy.dto.QuestionDTO;
 import com.example.studybuddy.model.Question;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
+import java.util.Optional;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
-    List<Question> findAllByQuizId(Long quizId);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Question.LISTING_QUERY_CACHE_REGION)
+    })
+    List<Question> findAllByQuizIdOrderByPositionAscIdAsc(Long quizId);
+
+    @Query("select coalesce(max(q.position), 0) from Question q where q.quiz.id = :quizId")
+    long findMaxPositionByQuizId(@Param("quizId") Long quizId);
+
+    /**
+     * The first question after {@code (position, id)} in quiz order, skipping {@code excludeId}.
+     */
+    @Query("select q from Question q where q.quiz.id = :quizId and q.id <> :excludeId"
+            + " and (q.position > :position or (q.position = :position and q.id > :id))"
+            + " order by q.position, q.id")
+    List<Question> findNext(@Param("quizId") Long quizId, @Param("position") long position, @Param("id") long id,
+                            @Param("excludeId") Long excludeId, Limit limit);
+
+    /**
+     * Respaces every question of the quiz {@link Question#POSITION_GAP} apart,
+     * keeping their order, in one statement. Positions are part of the
+     * representation, so every row gets a new version.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "merge into questions q using ("
+            + "select id, row_number() over (order by position, id) as rn from questions where quiz_id = :quizId"
+            + ") r on q.id = r.id when matched then update set position = r.rn * :gap, version = q.version + 1", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "questions"))
+    int renumber(@Param("quizId") Long quizId, @Param("gap") long gap);
+
+    String DTO_SELECT = "select new com.example.studybuddy.dto.QuestionDTO("
+            + "q.id, q.text, q.options, q.answerKey, q.quiz.id, q.position, q.version) from Question q";
+
+    @Query(DTO_SELECT + " where q.quiz.id = :quizId"
+            + " and (q.position > :position or (q.position = :position and q.id > :afterId))"
+            + " order by q.position, q.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Question.LISTING_QUERY_CACHE_REGION)
+    })
+    List<QuestionDTO> findDtosByQuizIdAfter(@Param("quizId") Long quizId, @Param("position") long position,
+                                            @Param("afterId") long afterId, Limit limit);
+
+    @Query(DTO_SELECT + " where q.id = :id")
+    Optional<QuestionDTO> findDtoById(@Param("id") Long id);
+
+    @Query("select q.version from Question q where q.id = :id and q.quiz.id = :quizId")
+    Optional<Long> findVersionByIdAndQuizId(@Param("id") Long id, @Param("quizId") Long quizId);
+
+    // Bulk deletes: Hibernate first empties question_options and question_answers
+    // for the matched questions with the same restriction, then deletes the rows.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Question q where q.quiz.id = :quizId")
+    int deleteAllInQuiz(@Param("quizId") Long quizId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Question q where q.quiz.id in (select z.id from Quiz z where z.course.id = :courseId)")
+    int deleteAllInCourse(@Param("courseId") Long courseId);
 }
@@ -1,6 +1,44 @@
 package com.example.studybuddy.repository;
 
+import com.example.studybuddy.dto.QuizDTO;
 import com.example.studybuddy.model.Quiz;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface QuizRepository extends JpaRepository<Quiz, Long> {}
+import java.util.List;
+import java.util.Optional;
+
+public interface QuizRepository extends JpaRepository<Quiz, Long> {
+
+    @Query("select q.course.id from Quiz q where q.id = :id")
+    Optional<Long> findCourseIdById(@Param("id") Long id);
+
+    String DTO_SELECT = "select new com.example.studybuddy.dto.QuizDTO(q.id, q.title, q.course.id, q.version) from Quiz q";
+
+    @Query(DTO_SELECT + " where q.id > :after order by q.id")
+    List<QuizDTO> findDtosAfter(@Param("after") Long after, Limit limit);
+
+    @Query(DTO_SELECT + " where q.course.id = :courseId and q.id > :after order by q.id")
+    List<QuizDTO> findDtosByCourseIdAfter(@Param("courseId") Long courseId, @Param("after") Long after, Limit limit);
+
+    @Query(DTO_SELECT + " where q.id = :id")
+    Optional<QuizDTO> findDtoById(@Param("id") Long id);
+
+    @Query("select q.version from Quiz q where q.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Quiz q where q.id = :id")
+    int deleteInBulkById(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Quiz q where q.id = :id and q.version = :version")
+    int deleteInBulkByIdAndVersion(@Param("id") Long id, @Param("version") long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Quiz q where q.course.id = :courseId")
+    int deleteAllInCourse(@Param("courseId") Long courseId);
+}
@@ -0,0 +1,41 @@
+package com.example.studybuddy.repository;
+
+import com.example.studybuddy.model.StringListConverter;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * MyBatis counterpart of {@link StringListConverter} for the packed
+ * {@code options_json} column.
+ */
+public class StringListTypeHandler extends BaseTypeHandler<List<String>> {
+
+    private static final StringListConverter CONVERTER = new StringListConverter();
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, List<String> parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setString(i, CONVERTER.convertToDatabaseColumn(parameter));
+    }
+
+    @Override
+    public List<String> getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return CONVERTER.convertToEntityAttribute(rs.getString(columnName));
+    }
+
+    @Override
+    public List<String> getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return CONVERTER.convertToEntityAttribute(rs.getString(columnIndex));
+    }
+
+    @Override
+    public List<String> getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return CONVERTER.convertToEntityAttribute(cs.getString(columnIndex));
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.studybuddy.security;
+
+import com.example.studybuddy.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the calling user and their course-ownership verdicts once per request.
+ * Within a web request the resolved {@link Caller} is kept as a request attribute
+ * and reused for as long as the same {@link Authentication} is in place; outside
+ * a request every call resolves afresh.
+ */
+@Component
+public class AuthorizationContext {
+
+    private static final String ATTRIBUTE = AuthorizationContext.class.getName() + ".CALLER";
+
+    private final UserRepository userRepository;
+    private final OwnershipIndex ownershipIndex;
+    private final PrimaryLookup primary;
+
+    public AuthorizationContext(UserRepository userRepository, OwnershipIndex ownershipIndex, PrimaryLookup primary) {
+        this.userRepository = userRepository;
+        this.ownershipIndex = ownershipIndex;
+        this.primary = primary;
+    }
+
+    public Caller caller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) {
+            throw new AccessDeniedException("User not authenticated");
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new Caller(auth);
+        }
+        Object cached = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof Caller && ((Caller) cached).auth == auth) {
+            return (Caller) cached;
+        }
+        Caller caller = new Caller(auth);
+        attributes.setAttribute(ATTRIBUTE, caller, RequestAttributes.SCOPE_REQUEST);
+        return caller;
+    }
+
+    public boolean isAdmin() {
+        return caller().isAdmin();
+    }
+
+    /**
+     * Throws {@link EntityNotFoundException} for an unknown course and
+     * {@link AccessDeniedException} unless the caller is an admin or owns it.
+     */
+    public void requireCourseOwnerOrAdmin(Long courseId, String message) {
+        Caller caller = caller();
+        if (caller.isAdmin()) {
+            ownerOfCourse(courseId);
+        } else if (!caller.ownsCourse(courseId)) {
+            throw new AccessDeniedException(message);
+        }
+    }
+
+    /**
+     * Same as {@link #requireCourseOwnerOrAdmin} for the course the quiz belongs to.
+     */
+    public void requireQuizOwnerOrAdmin(Long quizId, String message) {
+        Caller caller = caller();
+        Long courseId = ownershipIndex.courseOfQuiz(quizId)
+                .orElseThrow(() -> new EntityNotFoundException("Quiz not found with id " + quizId));
+        if (!caller.isAdmin() && !caller.ownsCourse(courseId)) {
+            throw new AccessDeniedException(message);
+        }
+    }
+
+    private Long ownerOfCourse(Long courseId) {
+        return ownershipIndex.ownerOfCourse(courseId)
+                .orElseThrow(() -> new EntityNotFoundException("Course not found with id " + courseId));
+    }
+
+    public final class Caller {
+        private final Authentication auth;
+        private final boolean admin;
+        private final Map<Long, Boolean> courseVerdicts = new HashMap<>();
+        private Long userId;
+        private boolean userIdResolved;
+
+        private Caller(Authentication auth) {
+            this.auth = auth;
+            this.admin = auth.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .anyMatch(a -> a.equals("ROLE_ADMIN"));
+        }
+
+        public String getUsername() {
+            return auth.getName();
+        }
+
+        public boolean isAdmin() {
+            return admin;
+        }
+
+        /**
+         * Id of the calling user, taken from a {@link UserPrincipal} or looked up
+         * by username; {@code null} if the user does not exist.
+         */
+        public Long getUserId() {
+            if (!userIdResolved) {
+                Object principal = auth.getPrincipal();
+                if (principal instanceof UserPrincipal) {
+                    userId = ((UserPrincipal) principal).getId();
+                } else {
+                    userId = primary.get(() -> userRepository.findIdByUsername(auth.getName())).orElse(null);
+                }
+                userIdResolved = true;
+            }
+            return userId;
+        }
+
+        public boolean ownsCourse(Long courseId) {
+            Boolean verdict = courseVerdicts.get(courseId);
+            if (verdict == null) {
+                verdict = ownerOfCourse(courseId).equals(getUserId());
+                courseVerdicts.put(courseId, verdict);
+            }
+            return verdict;
+        }
+    }
+}
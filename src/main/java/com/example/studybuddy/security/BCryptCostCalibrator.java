@@ -0,0 +1,46 @@
+package com.example.studybuddy.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt work factor whose single-hash latency on this machine is
+ * closest to, without exceeding, the configured target.
+ */
+public final class BCryptCostCalibrator {
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+    private static final String SAMPLE = "calibration-sample-password";
+
+    private BCryptCostCalibrator() {}
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        measureMillis(minStrength, 1);
+        double base = measureMillis(minStrength, 3);
+
+        int chosen = minStrength;
+        for (int cost = minStrength + 1; cost <= maxStrength; cost++) {
+            if (base * (1L << (cost - minStrength)) > targetMillis) {
+                break;
+            }
+            chosen = cost;
+        }
+        double actual = chosen == minStrength ? base : measureMillis(chosen, 1);
+        if (actual > targetMillis * 1.5 && chosen > minStrength) {
+            chosen--;
+            actual /= 2;
+        }
+        log.info("BCrypt calibrated to cost {} (~{} ms per hash, target {} ms, {} hashes/s/core)",
+                chosen, Math.round(actual), targetMillis, String.format("%.1f", 1000.0 / actual));
+        return chosen;
+    }
+
+    public static double measureMillis(int strength, int iterations) {
+        String salt = BCrypt.gensalt(strength);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            BCrypt.hashpw(SAMPLE, salt);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.studybuddy.security;
 
-import com.example.studybuddy.repository.CourseRepository;
 import com.example.studybuddy.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,16 +9,18 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Objects;
 
 @Component("courseSecurity")
-@Transactional(readOnly = true)
+@Transactional
 public class CourseSecurity {
     private static final Logger log = LoggerFactory.getLogger(CourseSecurity.class);
 
-    private final CourseRepository courses;
     private final UserRepository users;
+    private final OwnershipIndex ownership;
+    private final PrimaryLookup primary;
 
-    public CourseSecurity(CourseRepository courses, UserRepository users) {
-        this.courses = courses;
+    public CourseSecurity(UserRepository users, OwnershipIndex ownership, PrimaryLookup primary) {
         this.users = users;
+        this.ownership = ownership;
+        this.primary = primary;
     }
 
 
@@ -28,18 +29,14 @@ public class CourseSecurity {
             return false;
         }
 
-        return courses.findById(courseId)
-                .map(c -> {
-                    if (c.getOwner() == null) {
-                        log.debug("Course {} has no owner", courseId);
-                        return false;
-                    }
-                    return Objects.equals(username, c.getOwner().getUsername());
-                })
-                .orElseGet(() -> {
-                    log.debug("Course {} not found", courseId);
-                    return false;
-                });
+        Long ownerId = ownership.ownerOfCourse(courseId).orElse(null);
+        if (ownerId == null) {
+            log.debug("Course {} not found", courseId);
+            return false;
+        }
+        return primary.get(() -> users.findIdByUsername(username))
+                .map(id -> Objects.equals(ownerId, id))
+                .orElse(false);
     }
 
     public boolean isUserSelf(String username, Long ownerId) {
@@ -47,7 +44,7 @@ public class CourseSecurity {
             return false;
         }
 
-        return users.findByUsername(username)
+        return primary.get(() -> users.findByUsername(username))
                 .map(u -> {
                     if (u.getId() == null) {
                         log.debug("User {} found but id is null", username);
@@ -1,9 +1,11 @@
 package com.example.studybuddy.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,15 +14,24 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.lang.NonNull;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtUtils jwtUtils;
     private final UserDetailsService uds;
+    private final TokenCache tokenCache;
+    private final TokenRevocationService revocations;
+    private final boolean stateless;
 
-    public JwtAuthFilter(JwtUtils jwtUtils, UserDetailsService uds) {
+    public JwtAuthFilter(JwtUtils jwtUtils, UserDetailsService uds, TokenCache tokenCache,
+                         TokenRevocationService revocations,
+                         @Value("${jwt.stateless:true}") boolean stateless) {
         this.jwtUtils = jwtUtils;
         this.uds = uds;
+        this.tokenCache = tokenCache;
+        this.revocations = revocations;
+        this.stateless = stateless;
     }
 
     @Override
@@ -32,14 +43,46 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (jwtUtils.validateToken(token)) {
-                String username = jwtUtils.getUsernameFromToken(token);
-                UserDetails ud = uds.loadUserByUsername(username);
-                Authentication auth = new UsernamePasswordAuthenticationToken(
+            VerifiedToken verified = resolve(token);
+            if (verified != null && !revocations.isRevoked(verified.tokenId())) {
+                UserDetails ud = verified.principal();
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                         ud, null, ud.getAuthorities());
+                auth.setDetails(verified);
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
         }
         chain.doFilter(request, response);
     }
+
+    /**
+     * Verified tokens are cached only in stateless mode; otherwise the principal is
+     * reloaded on every request so role changes and deletions apply at once.
+     */
+    private VerifiedToken resolve(String token) {
+        ByteBuffer key = stateless ? TokenCache.digest(token) : null;
+        VerifiedToken cached = key != null ? tokenCache.get(key) : null;
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = jwtUtils.parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        UserDetails ud = stateless ? jwtUtils.toPrincipal(claims) : null;
+        if (ud == null) {
+            ud = uds.loadUserByUsername(claims.getSubject());
+            if (ud instanceof CredentialsContainer) {
+                ((CredentialsContainer) ud).eraseCredentials();
+            }
+        }
+        if (claims.getExpiration() == null) {
+            return new VerifiedToken(ud, claims.getId(), Long.MAX_VALUE);
+        }
+        VerifiedToken verified = new VerifiedToken(ud, claims.getId(), claims.getExpiration().getTime());
+        if (key != null) {
+            tokenCache.put(key, verified);
+        }
+        return verified;
+    }
 }
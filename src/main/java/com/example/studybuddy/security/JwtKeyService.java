@@ -0,0 +1,210 @@
+package com.example.studybuddy.security;
+
+import com.example.studybuddy.model.SigningKey;
+import com.example.studybuddy.repository.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * RSA key pairs used to sign (RS256) and verify access tokens. Keys live in the
+ * {@code jwt_signing_keys} table so every node signs with the same newest key and
+ * accepts every key that may still have live tokens. Private keys are stored
+ * encrypted by {@link SigningKeyCipher}. A new key is generated once
+ * the newest is older than the rotation interval; older keys remain valid for
+ * verification until the tokens they signed have expired.
+ */
+@Service
+public class JwtKeyService {
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyService.class);
+    static final String ALGORITHM = "RS256";
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final SigningKeyCipher cipher;
+    private final TransactionTemplate requiresNew;
+    private final int keySize;
+    private final long rotationIntervalMs;
+    private final long verificationWindowMs;
+    private final long reloadMinIntervalMs;
+
+    private volatile Keys keys = new Keys(null, Map.of());
+    private volatile long lastReload;
+
+    public JwtKeyService(SigningKeyRepository signingKeyRepository,
+                         SigningKeyCipher cipher,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${jwt.keys.size:2048}") int keySize,
+                         @Value("${jwt.keys.rotation-interval-ms:604800000}") long rotationIntervalMs,
+                         @Value("${jwt.keys.reload-min-interval-ms:5000}") long reloadMinIntervalMs,
+                         @Value("${jwt.keys.sync-interval-ms:60000}") long syncIntervalMs,
+                         @Value("${jwt.expiration-ms}") long jwtExpirationMs) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.cipher = cipher;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.keySize = keySize;
+        this.rotationIntervalMs = rotationIntervalMs;
+        this.verificationWindowMs = rotationIntervalMs + jwtExpirationMs + 2 * syncIntervalMs;
+        this.reloadMinIntervalMs = reloadMinIntervalMs;
+    }
+
+    @PostConstruct
+    void init() {
+        sync();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.sync-interval-ms:60000}",
+            initialDelayString = "${jwt.keys.sync-interval-ms:60000}")
+    public void sync() {
+        reload();
+        ActiveKey active = keys.active();
+        if (active == null || active.createdAt().plusMillis(rotationIntervalMs).isBefore(Instant.now())) {
+            rotate();
+        }
+        signingKeyRepository.deleteExpired(Instant.now());
+    }
+
+    /**
+     * Generates and publishes a new signing key. Keys issued so far stay valid
+     * for verification.
+     */
+    public void rotate() {
+        KeyPair pair = generate();
+        Instant now = Instant.now();
+        String kid = UUID.randomUUID().toString();
+        SigningKey key = new SigningKey(kid, ALGORITHM,
+                Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()),
+                cipher.encrypt(pair.getPrivate().getEncoded(), kid),
+                now, now.plusMillis(verificationWindowMs));
+        requiresNew.executeWithoutResult(status -> signingKeyRepository.save(key));
+        log.info("Generated JWT signing key {}", key.getKid());
+        reload();
+    }
+
+    public ActiveKey activeKey() {
+        ActiveKey active = keys.active();
+        if (active == null) {
+            throw new IllegalStateException("No JWT signing key available");
+        }
+        return active;
+    }
+
+    /**
+     * Public key for {@code kid}. An unknown id triggers a reload, at most once per
+     * {@code jwt.keys.reload-min-interval-ms}, to pick up keys rotated on other nodes.
+     */
+    public RSAPublicKey verificationKey(String kid) {
+        if (kid == null) {
+            return null;
+        }
+        RSAPublicKey key = keys.verification().get(kid);
+        if (key == null && System.currentTimeMillis() - lastReload >= reloadMinIntervalMs) {
+            synchronized (this) {
+                if (System.currentTimeMillis() - lastReload >= reloadMinIntervalMs) {
+                    reload();
+                }
+            }
+            key = keys.verification().get(kid);
+        }
+        return key;
+    }
+
+    /**
+     * Verification keys as a JSON Web Key Set.
+     */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Map.Entry<String, RSAPublicKey> e : keys.verification().entrySet()) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("use", "sig");
+            jwk.put("alg", ALGORITHM);
+            jwk.put("kid", e.getKey());
+            jwk.put("n", base64Url(e.getValue().getModulus()));
+            jwk.put("e", base64Url(e.getValue().getPublicExponent()));
+            list.add(jwk);
+        }
+        return Map.of("keys", list);
+    }
+
+    private synchronized void reload() {
+        Instant now = Instant.now();
+        Map<String, RSAPublicKey> verification = new LinkedHashMap<>();
+        ActiveKey active = null;
+        for (SigningKey row : signingKeyRepository.findAllByExpiresAtAfterOrderByCreatedAtDesc(now)) {
+            if (!ALGORITHM.equals(row.getAlgorithm())) {
+                continue;
+            }
+            try {
+                verification.put(row.getKid(), decodePublic(row.getPublicKey()));
+                if (active == null) {
+                    active = new ActiveKey(row.getKid(), decodePrivate(cipher.decrypt(row.getEncryptedPrivateKey(), row.getKid())), row.getCreatedAt());
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping unreadable JWT signing key {}", row.getKid());
+            }
+        }
+        keys = new Keys(active, Collections.unmodifiableMap(verification));
+        lastReload = System.currentTimeMillis();
+    }
+
+    private KeyPair generate() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(keySize);
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static RSAPublicKey decodePublic(String encoded) throws GeneralSecurityException {
+        return (RSAPublicKey) KeyFactory.getInstance("RSA")
+                .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+    }
+
+    private static PrivateKey decodePrivate(byte[] encoded) throws GeneralSecurityException {
+        return KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(encoded));
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * The key new tokens are signed with, together with its {@code kid}.
+     */
+    public record ActiveKey(String kid, PrivateKey key, Instant createdAt) {}
+
+    private record Keys(ActiveKey active, Map<String, RSAPublicKey> verification) {}
+}
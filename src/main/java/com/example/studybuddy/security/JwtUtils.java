@@ -1,46 +1,115 @@
 package com.example.studybuddy.security;
 
 import io.jsonwebtoken.*;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtils {
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+
+    private final JwtKeyService keyService;
 
     @Value("${jwt.expiration-ms}")
     private long jwtExpirationMs;
 
+    private JwtParser parser;
+
+    public JwtUtils(JwtKeyService keyService) {
+        this.keyService = keyService;
+    }
+
+    @PostConstruct
+    void initParser() {
+        parser = Jwts.parser().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                if (!SignatureAlgorithm.RS256.getValue().equals(header.getAlgorithm())) {
+                    throw new UnsupportedJwtException("Unsupported signing algorithm " + header.getAlgorithm());
+                }
+                Key key = keyService.verificationKey(header.getKeyId());
+                if (key == null) {
+                    throw new SignatureException("Unknown signing key " + header.getKeyId());
+                }
+                return key;
+            }
+        });
+    }
+
     public String generateToken(String username) {
-        return Jwts.builder()
+        return builder()
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(SignatureAlgorithm.HS256, jwtSecret)
                 .compact();
     }
 
+    public String generateToken(UserPrincipal principal) {
+        return builder()
+                .setSubject(principal.getUsername())
+                .claim(CLAIM_USER_ID, principal.getId())
+                .claim(CLAIM_ROLE, principal.getRole())
+                .compact();
+    }
+
+    public String generateToken(Authentication auth) {
+        if (auth.getPrincipal() instanceof UserPrincipal) {
+            return generateToken((UserPrincipal) auth.getPrincipal());
+        }
+        return generateToken(auth.getName());
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(jwtSecret)
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /**
+     * Verifies the signature and expiry and returns the claims in one pass,
+     * or {@code null} when the token is not valid.
+     */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Builds a principal from the embedded claims, or returns {@code null}
+     * when the token was issued without them and the user has to be loaded.
+     */
+    public UserPrincipal toPrincipal(Claims claims) {
+        Object uid = claims.get(CLAIM_USER_ID);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (!(uid instanceof Number) || role == null || claims.getSubject() == null) {
+            return null;
         }
-        return false;
+        return new UserPrincipal(((Number) uid).longValue(), claims.getSubject(), null, role);
     }
 
     public long getExpirationMs() {
         return jwtExpirationMs;
     }
-}
\ No newline at end of file
+
+    private JwtBuilder builder() {
+        JwtKeyService.ActiveKey key = keyService.activeKey();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
+                .signWith(SignatureAlgorithm.RS256, key.key());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.studybuddy.security;
+
+import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuizRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of course ownership used by authorization checks: course id to
+ * owner id and quiz id to course id. Misses are filled from id-only projection
+ * queries, always on the primary database; unknown ids are never cached. Both
+ * maps hold at most {@code security.ownership-index.max-entries} entries, which
+ * expire {@code security.ownership-index.ttl-ms} after being loaded so changes
+ * made on other nodes are picked up.
+ *
+ * <p>A quiz entry remembers the course entry it was loaded against and is only
+ * used while that exact course entry is still cached, so evicting a course also
+ * drops its quizzes without scanning them.
+ *
+ * <p>Writers evict immediately and again when their transaction completes, so a
+ * reader that loaded the old row before the commit cannot leave it behind. A
+ * value is only stored if no eviction happened while it was being loaded.
+ */
+@Component
+public class OwnershipIndex {
+
+    private final CourseRepository courseRepository;
+    private final QuizRepository quizRepository;
+    private final PrimaryLookup primary;
+    private final Cache<Long, CourseEntry> courseOwners;
+    private final Cache<Long, QuizEntry> quizCourses;
+    private final AtomicLong generation = new AtomicLong();
+
+    public OwnershipIndex(CourseRepository courseRepository, QuizRepository quizRepository, PrimaryLookup primary,
+                          @Value("${security.ownership-index.max-entries:100000}") long maxEntries,
+                          @Value("${security.ownership-index.ttl-ms:60000}") long ttlMs) {
+        this.courseRepository = courseRepository;
+        this.quizRepository = quizRepository;
+        this.primary = primary;
+        this.courseOwners = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        this.quizCourses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    public Optional<Long> ownerOfCourse(Long courseId) {
+        return course(courseId).map(CourseEntry::ownerId);
+    }
+
+    public Optional<Long> courseOfQuiz(Long quizId) {
+        if (quizId == null) {
+            return Optional.empty();
+        }
+        QuizEntry cached = quizCourses.getIfPresent(quizId);
+        if (cached != null) {
+            if (courseOwners.getIfPresent(cached.courseId()) == cached.course()) {
+                return Optional.of(cached.courseId());
+            }
+            quizCourses.asMap().remove(quizId, cached);
+        }
+        long gen = generation.get();
+        Optional<Long> loaded = primary.get(() -> quizRepository.findCourseIdById(quizId));
+        loaded.flatMap(this::course)
+                .ifPresent(course -> store(quizCourses.asMap(), quizId, new QuizEntry(loaded.get(), course), gen));
+        return loaded;
+    }
+
+    public Optional<Long> ownerOfQuiz(Long quizId) {
+        return courseOfQuiz(quizId).flatMap(this::ownerOfCourse);
+    }
+
+    public void courseChanged(Long courseId) {
+        evict(() -> courseOwners.invalidate(courseId));
+    }
+
+    public void courseRemoved(Long courseId) {
+        courseChanged(courseId);
+    }
+
+    public void quizChanged(Long quizId) {
+        evict(() -> quizCourses.invalidate(quizId));
+    }
+
+    public void clear() {
+        evict(() -> {
+            courseOwners.invalidateAll();
+            quizCourses.invalidateAll();
+        });
+    }
+
+    private Optional<CourseEntry> course(Long courseId) {
+        if (courseId == null) {
+            return Optional.empty();
+        }
+        CourseEntry cached = courseOwners.getIfPresent(courseId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long gen = generation.get();
+        return primary.get(() -> courseRepository.findOwnerIdById(courseId))
+                .map(ownerId -> store(courseOwners.asMap(), courseId, new CourseEntry(ownerId), gen));
+    }
+
+    private <V> V store(ConcurrentMap<Long, V> map, Long key, V value, long gen) {
+        if (generation.get() != gen) {
+            return value;
+        }
+        V existing = map.putIfAbsent(key, value);
+        if (existing != null) {
+            return existing;
+        }
+        if (generation.get() != gen) {
+            map.remove(key, value);
+        }
+        return value;
+    }
+
+    private void evict(Runnable eviction) {
+        generation.incrementAndGet();
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * Compared by identity: a quiz entry is valid only against the course entry it
+     * was loaded with.
+     */
+    private static final class CourseEntry {
+        private final Long ownerId;
+
+        CourseEntry(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        Long ownerId() {
+            return ownerId;
+        }
+    }
+
+    private record QuizEntry(Long courseId, CourseEntry course) {}
+}
@@ -0,0 +1,96 @@
+package com.example.studybuddy.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead for BCrypt work. Hashing and verification run on a fixed-size pool
+ * with a bounded queue, so a login burst can occupy at most
+ * {@code poolSize + queueCapacity} request threads; anything beyond that is
+ * rejected immediately with {@link PasswordHashingBusyException}.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final long retryAfterSeconds;
+    private final Map<String, Timer> queueTimers;
+    private final Map<String, Timer> hashTimers;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(@Value("${security.password.pool-size:0}") int poolSize,
+                                   @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                   @Value("${security.password.retry-after-seconds:1}") long retryAfterSeconds,
+                                   MeterRegistry registry) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<>(queueCapacity)
+                : new SynchronousQueue<>();
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, queue, r -> {
+            Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.queueTimers = timers("password.hash.queue", registry);
+        this.hashTimers = timers("password.hash.duration", registry);
+        this.rejected = Counter.builder("password.hash.rejected").register(registry);
+        registry.gauge("password.hash.queue.depth", queue, BlockingQueue::size);
+    }
+
+    private static Map<String, Timer> timers(String name, MeterRegistry registry) {
+        return Map.of(
+                "encode", Timer.builder(name).tag("op", "encode").register(registry),
+                "matches", Timer.builder(name).tag("op", "matches").register(registry));
+    }
+
+    /**
+     * Runs {@code task} on the pool and waits for it. {@code operation} is either
+     * {@code "encode"} or {@code "matches"}.
+     */
+    public <T> T execute(String operation, Supplier<T> task) {
+        Timer queueTimer = queueTimers.get(operation);
+        Timer hashTimer = hashTimers.get(operation);
+        if (queueTimer == null) {
+            throw new IllegalArgumentException("Unknown password operation: " + operation);
+        }
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                queueTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return hashTimer.record(task);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(retryAfterSeconds);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.studybuddy.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs authorization lookups against the primary database. With a read replica
+ * configured, a lookup made inside a read-only transaction, which is routed to the
+ * possibly lagging replica, gets a read-write transaction of its own instead, so
+ * a just-created or just-transferred course is never judged by stale rows.
+ */
+@Component
+public class PrimaryLookup {
+
+    private final boolean replicaConfigured;
+    private final TransactionTemplate readWrite;
+
+    public PrimaryLookup(PlatformTransactionManager transactionManager,
+                         @Value("${spring.datasource.replica.url:}") String replicaUrl) {
+        this.replicaConfigured = !replicaUrl.isBlank();
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T get(Supplier<T> lookup) {
+        if (replicaConfigured && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return readWrite.execute(status -> lookup.get());
+        }
+        return lookup.get();
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.studybuddy.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the unauthenticated credential endpoints per client IP and per
+ * submitted username, before any password hashing happens. Limits are read from
+ * {@code security.rate-limit.<endpoint>.per-ip}, {@code .per-username} and
+ * {@code .period-seconds} for the endpoints {@code login}, {@code register} and
+ * {@code token}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 8192;
+
+    private final boolean enabled;
+    private final List<Rule> rules;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+
+    public RateLimitFilter(Environment env, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.enabled = env.getProperty("security.rate-limit.enabled", Boolean.class, true);
+        int maxKeys = env.getProperty("security.rate-limit.max-keys", Integer.class, 100_000);
+        this.rules = List.of(
+                rule(env, "login", "/api/auth/login", 30, 10, maxKeys),
+                rule(env, "register", "/api/auth/register", 10, 5, maxKeys),
+                rule(env, "token", "/oauth/token", 30, 10, maxKeys));
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || match(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain chain
+    ) throws ServletException, IOException {
+        Rule rule = match(request);
+        long now = System.nanoTime();
+
+        long wait = rule.perIp().tryAcquire(request.getRemoteAddr(), now);
+        if (wait > 0) {
+            reject(response, rule, "ip", wait);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        String username;
+        if (isForm(request)) {
+            username = request.getParameter("username");
+        } else {
+            BufferedBodyRequest buffered = new BufferedBodyRequest(request);
+            forwarded = buffered;
+            username = usernameFromJson(buffered.prefix);
+        }
+        if (username != null && !username.isBlank()) {
+            wait = rule.perUsername().tryAcquire(username.trim().toLowerCase(Locale.ROOT), now);
+            if (wait > 0) {
+                reject(response, rule, "username", wait);
+                return;
+            }
+        }
+        chain.doFilter(forwarded, response);
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        for (Rule rule : rules) {
+            rule.perIp().cleanUp();
+            rule.perUsername().cleanUp();
+        }
+    }
+
+    private Rule match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rule rule : rules) {
+            if (rule.path().equals(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, Rule rule, String key, long waitNanos) throws IOException {
+        registry.counter("rate.limit.rejected", "endpoint", rule.name(), "key", key).increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        String body = "{\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded, retry later\"}";
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String usernameFromJson(byte[] body) {
+        if (body.length == 0 || body.length > MAX_BODY_BYTES) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(body);
+            JsonNode username = node == null ? null : node.get("username");
+            return username != null && username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null
+                && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    private static Rule rule(Environment env, String name, String path, int perIp, int perUsername, int maxKeys) {
+        String prefix = "security.rate-limit." + name + ".";
+        long period = TimeUnit.SECONDS.toNanos(env.getProperty(prefix + "period-seconds", Long.class, 60L));
+        return new Rule(name, path,
+                new TokenBucketRateLimiter(env.getProperty(prefix + "per-ip", Integer.class, perIp), period, maxKeys),
+                new TokenBucketRateLimiter(env.getProperty(prefix + "per-username", Integer.class, perUsername), period, maxKeys));
+    }
+
+    private record Rule(String name, String path, TokenBucketRateLimiter perIp, TokenBucketRateLimiter perUsername) {}
+
+    /**
+     * Reads up to {@link #MAX_BODY_BYTES} + 1 bytes up front and replays them,
+     * followed by whatever is left of the original stream.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] prefix;
+        private ServletInputStream stream;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.prefix = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new ReplayingInputStream(
+                        new SequenceInputStream(new ByteArrayInputStream(prefix), super.getInputStream()));
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class ReplayingInputStream extends ServletInputStream {
+        private final InputStream in;
+        private boolean finished;
+
+        ReplayingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            finished = b < 0;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = in.read(buf, off, len);
+            finished = n < 0;
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.studybuddy.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bloom filter over revoked token ids, split into time slices by token expiry.
+ * A token id is added to the slice covering its {@code exp}; once every token
+ * in a slice has expired the slice is simply ignored and later reused, so the
+ * filter sheds expired entries without a full rebuild.
+ *
+ * <p>{@link #mightContain} reads only volatile references and atomic longs and
+ * allocates nothing. Writers are serialized; revocations are rare.
+ */
+public class RevocationBloomFilter {
+
+    private final long sliceWidthMs;
+    private final int bitsPerSlice;
+    private final int hashCount;
+    private final AtomicReferenceArray<Slice> slices;
+
+    /**
+     * @param windowMs          longest lifetime of a token that may be revoked
+     * @param sliceCount        number of slices the window is divided into
+     * @param expectedEntries   revocations expected within one window
+     * @param falsePositiveRate target false-positive rate per slice
+     */
+    public RevocationBloomFilter(long windowMs, int sliceCount, int expectedEntries, double falsePositiveRate) {
+        int perSlice = Math.max(1, expectedEntries / sliceCount);
+        double ln2 = Math.log(2);
+        int bits = (int) Math.ceil(-perSlice * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitsPerSlice = Math.max(64, ((bits + 63) / 64) * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitsPerSlice / perSlice * ln2));
+        this.sliceWidthMs = Math.max(1, (windowMs + sliceCount - 1) / sliceCount);
+        this.slices = new AtomicReferenceArray<>(sliceCount + 1);
+    }
+
+    public synchronized void add(String tokenId, long expiresAt, long now) {
+        long nowEpoch = now / sliceWidthMs;
+        long epoch = Math.min(expiresAt / sliceWidthMs, nowEpoch + slices.length() - 1);
+        if (epoch < nowEpoch) {
+            return;
+        }
+        int slot = (int) (epoch % slices.length());
+        Slice slice = slices.get(slot);
+        if (slice == null || slice.epoch != epoch) {
+            slice = new Slice(epoch, new AtomicLongArray(bitsPerSlice / 64));
+            slices.set(slot, slice);
+        }
+        int h1 = tokenId.hashCode();
+        int h2 = secondaryHash(tokenId);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitsPerSlice);
+            long mask = 1L << (bit & 63);
+            AtomicLongArray words = slice.bits;
+            int w = bit >>> 6;
+            long prev;
+            do {
+                prev = words.get(w);
+            } while ((prev & mask) == 0 && !words.compareAndSet(w, prev, prev | mask));
+        }
+    }
+
+    public boolean mightContain(String tokenId, long now) {
+        long nowEpoch = now / sliceWidthMs;
+        int h1 = tokenId.hashCode();
+        int h2 = 0;
+        for (int s = 0; s < slices.length(); s++) {
+            Slice slice = slices.get(s);
+            if (slice == null || slice.epoch < nowEpoch) {
+                continue;
+            }
+            if (h2 == 0) {
+                h2 = secondaryHash(tokenId);
+            }
+            if (test(slice, h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void clear() {
+        for (int s = 0; s < slices.length(); s++) {
+            slices.set(s, null);
+        }
+    }
+
+    int getBitsPerSlice() { return bitsPerSlice; }
+
+    int getHashCount() { return hashCount; }
+
+    private boolean test(Slice slice, int h1, int h2) {
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitsPerSlice);
+            if ((slice.bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int secondaryHash(String s) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < s.length(); i++) {
+            h ^= s.charAt(i);
+            h *= 0x01000193;
+        }
+        return h | 1;
+    }
+
+    private static final class Slice {
+        final long epoch;
+        final AtomicLongArray bits;
+
+        Slice(long epoch, AtomicLongArray bits) {
+            this.epoch = epoch;
+            this.bits = bits;
+        }
+    }
+}
@@ -21,11 +21,14 @@ public class SecurityConfig {
 
     private final UserDetailsService customUserDetailsService;
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     public SecurityConfig(UserDetailsService customUserDetailsService,
-                          JwtAuthFilter jwtAuthFilter) {
+                          JwtAuthFilter jwtAuthFilter,
+                          RateLimitFilter rateLimitFilter) {
         this.customUserDetailsService = customUserDetailsService;
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -52,6 +55,7 @@ public class SecurityConfig {
                                 "/swagger-ui/oauth2-redirect.html",
                                 "/webjars/**",
                                 "/oauth/token",
+                                "/.well-known/jwks.json",
                                 "/api/auth/**"
                         ).permitAll()
 
@@ -74,7 +78,8 @@ public class SecurityConfig {
                             response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
                         })
                 )
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,73 @@
+package com.example.studybuddy.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-GCM envelope for the private half of JWT signing keys, so the
+ * {@code jwt_signing_keys} table never holds them in plaintext. The key comes from
+ * {@code jwt.keys.encryption-key} (base64, 128, 192 or 256 bits), normally supplied
+ * through the {@code JWT_KEYS_ENCRYPTION_KEY} environment variable. The key id is
+ * bound as associated data, so a ciphertext copied to another row does not decrypt.
+ */
+@Component
+class SigningKeyCipher {
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    SigningKeyCipher(@Value("${jwt.keys.encryption-key}") String encodedKey) {
+        byte[] raw;
+        try {
+            raw = Base64.getDecoder().decode(encodedKey.trim());
+        } catch (IllegalArgumentException e) {
+            raw = new byte[0];
+        }
+        if (raw.length != 16 && raw.length != 24 && raw.length != 32) {
+            throw new IllegalStateException("jwt.keys.encryption-key must be a base64-encoded 128, 192 or 256-bit AES key");
+        }
+        this.key = new SecretKeySpec(raw, "AES");
+    }
+
+    /**
+     * Base64 of the random IV followed by the ciphertext and tag.
+     */
+    String encrypt(byte[] plaintext, String kid) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] sealed = cipher.doFinal(plaintext);
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + sealed.length)
+                    .put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    byte[] decrypt(String encoded, String kid) throws GeneralSecurityException {
+        byte[] envelope = Base64.getDecoder().decode(encoded);
+        if (envelope.length <= IV_BYTES) {
+            throw new GeneralSecurityException("Truncated signing key envelope");
+        }
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, envelope, 0, IV_BYTES));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(envelope, IV_BYTES, envelope.length - IV_BYTES);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.studybuddy.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket per key, stored as a single {@link AtomicLong} holding the time at
+ * which the bucket will be full again (the GCRA formulation of a token bucket).
+ * Acquiring is one CAS on that key's state; buckets live in a Caffeine cache, so
+ * there is no global lock.
+ *
+ * <p>A missing key is a full bucket, so a bucket is expired once it has gone
+ * unused for as long as it takes to refill, without changing any outcome. If the
+ * limiter already tracks {@code maxKeys} buckets, new keys share a single overflow
+ * bucket until room frees up: a flood of distinct keys is throttled as a whole
+ * instead of being let through untracked.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final Cache<String, AtomicLong> buckets;
+    private final AtomicLong overflow;
+
+    /**
+     * @param capacity requests allowed in a burst, refilled evenly over {@code periodNanos}
+     * @param maxKeys  buckets tracked before new keys fall back to the overflow bucket
+     */
+    public TokenBucketRateLimiter(int capacity, long periodNanos, int maxKeys) {
+        this(capacity, periodNanos, maxKeys, Ticker.systemTicker());
+    }
+
+    TokenBucketRateLimiter(int capacity, long periodNanos, int maxKeys, Ticker ticker) {
+        if (capacity <= 0 || periodNanos <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("capacity, period and maxKeys must be positive");
+        }
+        this.intervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .ticker(ticker)
+                .build();
+        this.overflow = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Takes one token for {@code key}.
+     *
+     * @return 0 if the request is allowed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.estimatedSize() >= maxKeys
+                    ? overflow
+                    : buckets.get(key, k -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops expired buckets now rather than on the next access.
+     */
+    public void cleanUp() {
+        buckets.cleanUp();
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
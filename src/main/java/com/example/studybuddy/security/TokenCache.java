@@ -0,0 +1,109 @@
+package com.example.studybuddy.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already verified bearer tokens, keyed by the SHA-256 digest
+ * of the token so raw tokens are never retained. Entries expire with the token's
+ * {@code exp}; beyond {@code jwt.cache.max-size} entries Caffeine evicts the ones
+ * least likely to be used again.
+ */
+@Component
+public class TokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Cache<ByteBuffer, VerifiedToken> entries;
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public TokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize, MeterRegistry registry) {
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("jwt.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("jwt.cache.requests").tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("jwt.cache.evictions").register(registry);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxSize))
+                .expireAfter(new UntilTokenExpiry())
+                .evictionListener((ByteBuffer key, VerifiedToken token, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        Gauge.builder("jwt.cache.size", entries, Cache::estimatedSize).register(registry);
+    }
+
+    public VerifiedToken get(ByteBuffer key) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        VerifiedToken e = entries.getIfPresent(key);
+        if (e == null || e.expiresAt() <= System.currentTimeMillis()) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e;
+    }
+
+    public void put(ByteBuffer key, VerifiedToken token) {
+        if (maxSize <= 0) {
+            return;
+        }
+        entries.put(key, token);
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    public static ByteBuffer digest(String token) {
+        MessageDigest md = SHA256.get();
+        return ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
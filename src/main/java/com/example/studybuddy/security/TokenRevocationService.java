@@ -0,0 +1,94 @@
+package com.example.studybuddy.security;
+
+import com.example.studybuddy.model.RevokedToken;
+import com.example.studybuddy.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation list keyed by token id ({@code jti}). The authoritative set is the
+ * {@code revoked_tokens} table, mirrored in memory and periodically re-synced so
+ * revocations made on other nodes are picked up. A {@link RevocationBloomFilter}
+ * sits in front of the mirror so the usual "not revoked" answer never touches it.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationBloomFilter filter;
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.expiration-ms}") long jwtExpirationMs,
+                                  @Value("${jwt.revocation.window-ms:0}") long windowMs,
+                                  @Value("${jwt.revocation.slices:8}") int slices,
+                                  @Value("${jwt.revocation.expected-entries:10000}") int expectedEntries,
+                                  @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.filter = new RevocationBloomFilter(Math.max(jwtExpirationMs, windowMs),
+                slices, expectedEntries, falsePositiveRate);
+    }
+
+    @PostConstruct
+    void load() {
+        Instant started = Instant.now();
+        long now = started.toEpochMilli();
+        for (RevokedToken row : revokedTokenRepository.findAllByExpiresAtAfter(started)) {
+            remember(row.getJti(), row.getExpiresAt().toEpochMilli(), now);
+        }
+        lastSync = started;
+    }
+
+    @Transactional
+    public void revoke(String tokenId, long expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(tokenId, Instant.ofEpochMilli(expiresAt), Instant.now()));
+        remember(tokenId, expiresAt, now);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (!filter.mightContain(tokenId, now)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > now;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}",
+            initialDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public void sync() {
+        Instant started = Instant.now();
+        long now = started.toEpochMilli();
+        for (RevokedToken row : revokedTokenRepository.findAllByRevokedAtAfter(lastSync.minusSeconds(5))) {
+            remember(row.getJti(), row.getExpiresAt().toEpochMilli(), now);
+        }
+        revoked.values().removeIf(exp -> exp <= now);
+        revokedTokenRepository.deleteExpired(started);
+        lastSync = started;
+    }
+
+    private void remember(String tokenId, long expiresAt, long now) {
+        if (expiresAt <= now) {
+            return;
+        }
+        revoked.put(tokenId, expiresAt);
+        filter.add(tokenId, expiresAt, now);
+    }
+}
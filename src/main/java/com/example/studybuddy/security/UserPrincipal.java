@@ -0,0 +1,26 @@
+package com.example.studybuddy.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+public class UserPrincipal extends User {
+    private final Long id;
+    private final String role;
+
+    public UserPrincipal(Long id, String username, String password, String role) {
+        super(username, password == null ? "" : password,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        this.id = id;
+        this.role = role;
+    }
+
+    public Long getId() { return id; }
+
+    public String getRole() { return role; }
+
+    public static UserPrincipal from(com.example.studybuddy.model.User u) {
+        return new UserPrincipal(u.getId(), u.getUsername(), u.getPassword(), u.getRole());
+    }
+}
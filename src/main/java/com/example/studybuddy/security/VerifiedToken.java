@@ -0,0 +1,10 @@
+package com.example.studybuddy.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Outcome of verifying a bearer token: the resolved principal plus the token
+ * id and expiry needed for revocation checks. Also used as the
+ * authentication details of the request.
+ */
+public record VerifiedToken(UserDetails principal, String tokenId, long expiresAt) {}
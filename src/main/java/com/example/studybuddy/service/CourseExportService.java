@@ -0,0 +1,156 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.Question;
+import com.example.studybuddy.model.Quiz;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes a course, its quizzes and their questions as NDJSON, one object per line
+ * tagged with {@code type}. Rows are read through forward-only cursors and the
+ * session is cleared every {@code course.export.clear-interval} rows, so memory
+ * does not grow with the size of the course. The export bypasses the second-level
+ * cache so a one-off pass over a whole course does not evict hot entries. Callers
+ * authorize before invoking {@link #export}, which may run on a different thread.
+ */
+@Service
+public class CourseExportService {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+    private final int fetchSize;
+    private final int clearInterval;
+
+    public CourseExportService(EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${course.export.fetch-size:500}") int fetchSize,
+                               @Value("${course.export.clear-interval:500}") int clearInterval) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.fetchSize = fetchSize;
+        this.clearInterval = clearInterval;
+    }
+
+    public void export(Long courseId, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            readOnlyTx.executeWithoutResult(status -> {
+                try {
+                    write(courseId, json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeRaw('\n');
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void write(Long courseId, JsonGenerator json) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        session.setCacheMode(CacheMode.IGNORE);
+        Course course = session.byId(Course.class).with(CacheMode.IGNORE).load(courseId);
+        if (course == null) {
+            throw new EntityNotFoundException("Course not found with id " + courseId);
+        }
+        json.writeStartObject();
+        json.writeStringField("type", "course");
+        json.writeNumberField("id", course.getId());
+        json.writeStringField("title", course.getTitle());
+        json.writeStringField("description", course.getDescription());
+        json.writeNumberField("ownerId", course.getOwner().getId());
+        json.writeEndObject();
+        session.clear();
+
+        List<Long> quizIds = new ArrayList<>();
+        try (ScrollableResults<Quiz> quizzes = session
+                .createSelectionQuery("from Quiz q where q.course.id = :courseId order by q.id", Quiz.class)
+                .setParameter("courseId", courseId)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            int rows = 0;
+            while (quizzes.next()) {
+                Quiz quiz = quizzes.get();
+                quizIds.add(quiz.getId());
+                json.writeStartObject();
+                json.writeStringField("type", "quiz");
+                json.writeNumberField("id", quiz.getId());
+                json.writeNumberField("courseId", courseId);
+                json.writeStringField("title", quiz.getTitle());
+                json.writeEndObject();
+                if (++rows % clearInterval == 0) {
+                    session.clear();
+                    json.flush();
+                }
+            }
+        }
+        session.clear();
+
+        for (Long quizId : quizIds) {
+            writeQuestions(session, quizId, json);
+        }
+    }
+
+    private void writeQuestions(Session session, Long quizId, JsonGenerator json) throws IOException {
+        try (ScrollableResults<Question> questions = session
+                .createSelectionQuery("from Question q where q.quiz.id = :quizId order by q.position, q.id", Question.class)
+                .setParameter("quizId", quizId)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            int rows = 0;
+            while (questions.next()) {
+                Question question = questions.get();
+                json.writeStartObject();
+                json.writeStringField("type", "question");
+                json.writeNumberField("id", question.getId());
+                json.writeNumberField("quizId", quizId);
+                json.writeStringField("text", question.getText());
+                json.writeArrayFieldStart("options");
+                for (String option : question.getOptions()) {
+                    json.writeString(option);
+                }
+                json.writeEndArray();
+                json.writeArrayFieldStart("correctAnswers");
+                for (int index : question.getAnswerKey().indices()) {
+                    json.writeNumber(index);
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+                if (++rows % clearInterval == 0) {
+                    session.clear();
+                    json.flush();
+                }
+            }
+        }
+        session.clear();
+        json.flush();
+    }
+}
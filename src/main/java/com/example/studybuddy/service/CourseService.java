@@ -1,15 +1,22 @@
 package com.example.studybuddy.service;
 
+import com.example.studybuddy.dto.CourseDTO;
 import com.example.studybuddy.dto.CreateCourseDTO;
 import com.example.studybuddy.model.Course;
 import com.example.studybuddy.model.User;
 import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuestionRepository;
+import com.example.studybuddy.repository.QuizRepository;
 import com.example.studybuddy.repository.UserRepository;
+import com.example.studybuddy.security.AuthorizationContext;
+import com.example.studybuddy.security.OwnershipIndex;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,26 +24,55 @@ import org.springframework.security.access.AccessDeniedException;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @Transactional
 public class CourseService {
 
+    private static final Set<String> SORTABLE = Set.of("id", "title");
+
     private final CourseRepository courseRepository;
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
     private final UserRepository userRepository;
-
-    public CourseService(CourseRepository courseRepository, UserRepository userRepository) {
+    private final OwnershipIndex ownershipIndex;
+    private final AuthorizationContext authorization;
+    private final OwnerCourseCache ownerCourseCache;
+
+    public CourseService(CourseRepository courseRepository, QuizRepository quizRepository,
+                         QuestionRepository questionRepository, UserRepository userRepository,
+                         OwnershipIndex ownershipIndex, AuthorizationContext authorization,
+                         OwnerCourseCache ownerCourseCache) {
         this.courseRepository = courseRepository;
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
         this.userRepository = userRepository;
+        this.ownershipIndex = ownershipIndex;
+        this.authorization = authorization;
+        this.ownerCourseCache = ownerCourseCache;
     }
 
+    @Transactional(readOnly = true)
     public List<Course> findAll() {
         return courseRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Course findById(Long id) {
-        return courseRepository.findById(id)
+        return courseRepository.findWithOwnerById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Course not found with id " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public CourseDTO findDtoById(Long id) {
+        return courseRepository.findDtoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Course not found with id " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public long findVersion(Long id) {
+        return courseRepository.findVersionById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Course not found with id " + id));
     }
 
@@ -50,21 +86,19 @@ public class CourseService {
         User owner = userRepository.findById(ownerId)
                 .orElseThrow(() -> new EntityNotFoundException("Owner not found with id " + ownerId));
 
+        if (course.getId() != null) {
+            ownershipIndex.ownerOfCourse(course.getId()).ifPresent(ownerCourseCache::ownerChanged);
+        }
         course.setOwner(owner);
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        ownershipIndex.courseChanged(saved.getId());
+        ownerCourseCache.ownerChanged(ownerId);
+        return saved;
     }
 
     @Transactional
     public Course createCourse(CreateCourseDTO dto) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String callerUsername = (auth != null) ? auth.getName() : null;
-
-        boolean isAdmin = false;
-        if (auth != null) {
-            isAdmin = auth.getAuthorities().stream()
-                    .map(GrantedAuthority::getAuthority)
-                    .anyMatch(a -> a.equals("ROLE_ADMIN"));
-        }
+        AuthorizationContext.Caller caller = authorization.caller();
 
         Course course = new Course();
         course.setTitle(dto.getTitle());
@@ -74,88 +108,71 @@ public class CourseService {
             User targetOwner = userRepository.findById(dto.getOwnerId())
                     .orElseThrow(() -> new EntityNotFoundException("Owner not found with id " + dto.getOwnerId()));
 
-            if (!isAdmin) {
-                User callingUser = userRepository.findByUsername(callerUsername)
-                        .orElseThrow(() -> new org.springframework.security.core.userdetails.UsernameNotFoundException(
-                                "User not found with username: " + callerUsername));
-
-                if (!Objects.equals(callingUser.getId(), targetOwner.getId())) {
-                    throw new AccessDeniedException("Only an admin can assign another user as the course owner");
-                }
+            if (!caller.isAdmin() && !Objects.equals(callerId(caller), targetOwner.getId())) {
+                throw new AccessDeniedException("Only an admin can assign another user as the course owner");
             }
 
             course.setOwner(targetOwner);
-            return courseRepository.save(course);
+            Course saved = courseRepository.save(course);
+            ownershipIndex.courseChanged(saved.getId());
+            ownerCourseCache.ownerChanged(targetOwner.getId());
+            return saved;
         }
 
-        User callingUser = userRepository.findByUsername(callerUsername)
-                .orElseThrow(() -> new org.springframework.security.core.userdetails.UsernameNotFoundException(
-                        "User not found with username: " + callerUsername));
-        course.setOwner(callingUser);
-        return courseRepository.save(course);
+        Long ownerId = callerId(caller);
+        course.setOwner(userRepository.getReferenceById(ownerId));
+        Course saved = courseRepository.save(course);
+        ownershipIndex.courseChanged(saved.getId());
+        ownerCourseCache.ownerChanged(ownerId);
+        return saved;
     }
 
-    private boolean isAdmin() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) return false;
-        return auth.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(a -> a.equals("ROLE_ADMIN"));
+    private Long callerId(AuthorizationContext.Caller caller) {
+        Long id = caller.getUserId();
+        if (id == null) {
+            throw new UsernameNotFoundException("User not found with username: " + caller.getUsername());
+        }
+        return id;
     }
 
     public void ensureOwnerOrAdmin(Long courseId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new AccessDeniedException("User not authenticated");
-        }
-        boolean admin = isAdmin();
-        if (admin) return;
-
-        String username;
-        Object principal = auth.getPrincipal();
-        if (principal instanceof UserDetails) username = ((UserDetails) principal).getUsername();
-        else username = String.valueOf(principal);
-
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new EntityNotFoundException("Course not found with id " + courseId));
-
-        if (course.getOwner() == null || course.getOwner().getUsername() == null ||
-                !username.equals(course.getOwner().getUsername())) {
-            throw new AccessDeniedException("Only the course owner or an admin can perform this action");
-        }
+        authorization.requireCourseOwnerOrAdmin(courseId,
+                "Only the course owner or an admin can perform this action");
     }
 
-    public List<Course> findAllForCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new SecurityException("User not authenticated");
+    /**
+     * One page of courses visible to the caller: every course for an admin, otherwise
+     * the caller's own courses, served from {@link OwnerCourseCache}. Unsorted
+     * requests are ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public Page<CourseDTO> findPageForCurrentUser(Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Courses cannot be sorted by " + order.getProperty());
+            }
         }
+        Pageable request = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("id"));
 
-        boolean isAdmin = auth.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(a -> a.equals("ROLE_ADMIN"));
-
-        if (isAdmin) {
-            return courseRepository.findAll();
+        AuthorizationContext.Caller caller = authorization.caller();
+        if (caller.isAdmin()) {
+            return courseRepository.findDtos(request);
         }
-
-        String username;
-        Object principal = auth.getPrincipal();
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = String.valueOf(principal);
+        Long ownerId = caller.getUserId();
+        if (ownerId == null) {
+            return Page.empty(request);
         }
-
-        return courseRepository.findAll().stream()
-                .filter(c -> c.getOwner() != null && username.equals(c.getOwner().getUsername()))
-                .collect(Collectors.toList());
+        return ownerCourseCache.get(ownerId, request,
+                () -> courseRepository.findDtosByOwnerId(ownerId, request));
     }
 
     public Course update(Long id, Course updated) {
         ensureOwnerOrAdmin(id);
 
         Course existing = findById(id);
+        ownerCourseCache.ownerChanged(existing.getOwner().getId());
 
         if (updated.getTitle() != null) {
             existing.setTitle(updated.getTitle());
@@ -163,40 +180,66 @@ public class CourseService {
         existing.setDescription(updated.getDescription());
 
         if (updated.getOwner() != null && updated.getOwner().getId() != null) {
-            if (!isAdmin()) {
+            if (!authorization.isAdmin()) {
                 throw new AccessDeniedException("Only admin may change course owner");
             }
             Long newOwnerId = updated.getOwner().getId();
             User newOwner = userRepository.findById(newOwnerId)
                     .orElseThrow(() -> new EntityNotFoundException("Owner not found with id " + newOwnerId));
             existing.setOwner(newOwner);
+            ownershipIndex.courseChanged(id);
+            ownerCourseCache.ownerChanged(newOwnerId);
         }
 
         return courseRepository.save(existing);
     }
 
 
-    public Course updateFromDto(Long id, CreateCourseDTO dto) {
+    /**
+     * @param expectedVersion version the caller last saw, or null to update unconditionally
+     */
+    public Course updateFromDto(Long id, CreateCourseDTO dto, Long expectedVersion) {
         ensureOwnerOrAdmin(id);
 
         Course existing = findById(id);
+        if (expectedVersion != null && expectedVersion != existing.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Course.class, id);
+        }
+        ownerCourseCache.ownerChanged(existing.getOwner().getId());
         if (dto.getTitle() != null) existing.setTitle(dto.getTitle());
         existing.setDescription(dto.getDescription());
 
         if (dto.getOwnerId() != null) {
-            if (!isAdmin()) {
+            if (!authorization.isAdmin()) {
                 throw new AccessDeniedException("Only admin may change course owner");
             }
             User newOwner = userRepository.findById(dto.getOwnerId())
                     .orElseThrow(() -> new EntityNotFoundException("Owner not found with id " + dto.getOwnerId()));
             existing.setOwner(newOwner);
+            ownershipIndex.courseChanged(id);
+            ownerCourseCache.ownerChanged(newOwner.getId());
         }
 
         return courseRepository.save(existing);
     }
 
-    public void deleteById(Long id) {
+    /**
+     * Deletes the course, its quizzes and their questions with set-based statements
+     * in dependency order, so memory use does not grow with the size of the course.
+     * With an {@code expectedVersion} nothing is deleted unless the course is still at
+     * that version; a mismatch throws {@link ObjectOptimisticLockingFailureException},
+     * which the API maps to 412 when the request sent {@code If-Match} and 409 otherwise.
+     */
+    public void deleteById(Long id, Long expectedVersion) {
         ensureOwnerOrAdmin(id);
-        courseRepository.deleteById(id);
+        ownershipIndex.ownerOfCourse(id).ifPresent(ownerCourseCache::ownerChanged);
+        questionRepository.deleteAllInCourse(id);
+        quizRepository.deleteAllInCourse(id);
+        if (expectedVersion == null) {
+            courseRepository.deleteInBulkById(id);
+        } else if (courseRepository.deleteInBulkByIdAndVersion(id, expectedVersion) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Course.class, id);
+        }
+        ownershipIndex.courseRemoved(id);
     }
 }
@@ -0,0 +1,63 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.dto.CourseTreeDTO;
+import com.example.studybuddy.dto.QuestionDTO;
+import com.example.studybuddy.dto.QuizTreeDTO;
+import com.example.studybuddy.repository.CourseTreeMapper;
+import com.example.studybuddy.repository.CourseTreeMapper.LegacyValue;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Course page content in one read: the course, its quizzes and their questions
+ * come from a single joined select, plus one select per legacy table only while
+ * some of the questions are still unpacked.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CourseTreeService {
+
+    private final CourseTreeMapper courseTreeMapper;
+
+    public CourseTreeService(CourseTreeMapper courseTreeMapper) {
+        this.courseTreeMapper = courseTreeMapper;
+    }
+
+    public CourseTreeDTO findTree(Long courseId) {
+        CourseTreeDTO tree = courseTreeMapper.findTree(courseId);
+        if (tree == null) {
+            throw new EntityNotFoundException("Course not found with id " + courseId);
+        }
+
+        Map<Long, QuestionDTO> unpackedOptions = new HashMap<>();
+        Map<Long, QuestionDTO> unpackedAnswers = new HashMap<>();
+        for (QuizTreeDTO quiz : tree.getQuizzes()) {
+            for (QuestionDTO question : quiz.getQuestions()) {
+                if (question.getOptions() == null) {
+                    question.setOptions(new ArrayList<>());
+                    unpackedOptions.put(question.getId(), question);
+                }
+                if (question.getCorrectAnswers() == null) {
+                    question.setCorrectAnswers(new ArrayList<>());
+                    unpackedAnswers.put(question.getId(), question);
+                }
+            }
+        }
+        if (!unpackedOptions.isEmpty()) {
+            for (LegacyValue<String> row : courseTreeMapper.findLegacyOptions(courseId)) {
+                unpackedOptions.get(row.getQuestionId()).getOptions().add(row.getValue());
+            }
+        }
+        if (!unpackedAnswers.isEmpty()) {
+            for (LegacyValue<Integer> row : courseTreeMapper.findLegacyAnswers(courseId)) {
+                unpackedAnswers.get(row.getQuestionId()).getCorrectAnswers().add(row.getValue());
+            }
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.studybuddy.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of an id-ordered keyset scan. {@code nextAfter} is the last id on the
+ * page when more rows follow, otherwise {@code null}.
+ */
+public record KeysetPage<T>(List<T> items, Long nextAfter) {
+
+    /**
+     * Builds a page from up to {@code limit + 1} rows fetched in id order; the
+     * extra row only signals that another page exists.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        return new KeysetPage<>(items.stream().map(mapper).toList(), nextAfter);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.dto.CourseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pages of a user's own courses, keyed by owner id and page request. Course writes
+ * evict the affected owners immediately and again when their transaction
+ * completes; pages also expire {@code course.owner-cache.ttl-ms} after being loaded
+ * to cover writes that bypass {@link CourseService}. Each owner has a sub-cache of
+ * at most {@code course.owner-cache.max-pages-per-owner} pages, and at most
+ * {@code course.owner-cache.max-owners} owners are kept.
+ */
+@Component
+public class OwnerCourseCache {
+
+    private final boolean enabled;
+    private final long ttlMs;
+    private final int maxPagesPerOwner;
+    private final Cache<Long, Cache<Pageable, Page<CourseDTO>>> owners;
+    private final AtomicLong generation = new AtomicLong();
+
+    public OwnerCourseCache(@Value("${course.owner-cache.enabled:true}") boolean enabled,
+                            @Value("${course.owner-cache.ttl-ms:60000}") long ttlMs,
+                            @Value("${course.owner-cache.max-owners:10000}") int maxOwners,
+                            @Value("${course.owner-cache.max-pages-per-owner:16}") int maxPagesPerOwner) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.maxPagesPerOwner = maxPagesPerOwner;
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maxOwners)
+                .expireAfterAccess(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    public Page<CourseDTO> get(Long ownerId, Pageable pageable, Supplier<Page<CourseDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Cache<Pageable, Page<CourseDTO>> pages = owners.getIfPresent(ownerId);
+        Page<CourseDTO> cached = pages != null ? pages.getIfPresent(pageable) : null;
+        if (cached != null) {
+            return cached;
+        }
+        long gen = generation.get();
+        Page<CourseDTO> loaded = loader.get();
+        store(ownerId, pageable, loaded, gen);
+        return loaded;
+    }
+
+    public void ownerChanged(Long ownerId) {
+        if (ownerId != null) {
+            evict(() -> owners.invalidate(ownerId));
+        }
+    }
+
+    public void clear() {
+        evict(owners::invalidateAll);
+    }
+
+    private void store(Long ownerId, Pageable pageable, Page<CourseDTO> page, long gen) {
+        if (generation.get() != gen) {
+            return;
+        }
+        Cache<Pageable, Page<CourseDTO>> pages = owners.get(ownerId, k -> Caffeine.newBuilder()
+                .maximumSize(maxPagesPerOwner)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build());
+        pages.put(pageable, page);
+        if (generation.get() != gen) {
+            pages.asMap().remove(pageable, page);
+        }
+    }
+
+    private void evict(Runnable eviction) {
+        generation.incrementAndGet();
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
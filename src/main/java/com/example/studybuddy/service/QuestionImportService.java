@@ -0,0 +1,295 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.dto.BulkImportResult;
+import com.example.studybuddy.dto.CreateQuestionDTO;
+import com.example.studybuddy.model.Question;
+import com.example.studybuddy.model.Quiz;
+import com.example.studybuddy.repository.QuestionRepository;
+import com.example.studybuddy.repository.QuizRepository;
+import com.example.studybuddy.security.AuthorizationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports questions into one quiz from a stream of NDJSON objects or CSV rows,
+ * one record per line. The caller is authorized once up front; records are
+ * validated like {@code POST /api/quizzes/{quizId}/questions} and written in
+ * chunks of {@code question.import.chunk-size}, each in its own transaction and
+ * flushed and detached once written, so memory stays constant whatever the size
+ * of the upload, even when called inside a surrounding transaction. Invalid lines are
+ * skipped and reported; a chunk that fails to store is reported line by line.
+ *
+ * <p>CSV rows have the columns {@code text,options,correctAnswers}, with options
+ * and answer indices separated by {@code |}. Fields may be double-quoted; a
+ * header row with those column names is skipped.
+ */
+@Service
+public class QuestionImportService {
+    private static final Logger log = LoggerFactory.getLogger(QuestionImportService.class);
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String CSV_HEADER = "text,options,correctanswers";
+
+    private final QuestionRepository questionRepository;
+    private final QuizRepository quizRepository;
+    private final AuthorizationContext authorization;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int maxLineLength;
+
+    public QuestionImportService(QuestionRepository questionRepository,
+                                 QuizRepository quizRepository,
+                                 AuthorizationContext authorization,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${question.import.chunk-size:500}") int chunkSize,
+                                 @Value("${question.import.max-errors:1000}") int maxErrors,
+                                 @Value("${question.import.max-line-length:131072}") int maxLineLength) {
+        this.questionRepository = questionRepository;
+        this.quizRepository = quizRepository;
+        this.authorization = authorization;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.maxLineLength = maxLineLength;
+    }
+
+    public BulkImportResult importQuestions(Long quizId, Format format, Reader reader) throws IOException {
+        authorization.requireQuizOwnerOrAdmin(quizId, "Only the course owner or an admin can add questions");
+
+        BulkImportResult result = new BulkImportResult();
+        LineReader lines = new LineReader(reader, maxLineLength);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        List<CreateQuestionDTO> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = lines.next()) != null) {
+            long lineNumber = lines.lineNumber();
+            if (lines.truncated()) {
+                fail(result, lineNumber, "Line exceeds " + maxLineLength + " characters");
+                continue;
+            }
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+            CreateQuestionDTO dto;
+            try {
+                dto = format == Format.CSV ? parseCsv(line) : objectMapper.readValue(line, CreateQuestionDTO.class);
+                validate(dto);
+            } catch (IOException | IllegalArgumentException e) {
+                fail(result, lineNumber, message(e));
+                continue;
+            }
+            chunk.add(dto);
+            chunkLines.add(lineNumber);
+            if (chunk.size() == chunkSize) {
+                store(quizId, chunk, chunkLines, result);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            store(quizId, chunk, chunkLines, result);
+        }
+        return result;
+    }
+
+    private void store(Long quizId, List<CreateQuestionDTO> chunk, List<Long> chunkLines, BulkImportResult result) {
+        try {
+            tx.executeWithoutResult(status -> {
+                Quiz quiz = quizRepository.getReferenceById(quizId);
+                long position = questionRepository.findMaxPositionByQuizId(quizId);
+                List<Question> questions = new ArrayList<>(chunk.size());
+                for (CreateQuestionDTO dto : chunk) {
+                    Question question = new Question(dto.getText(), dto.getOptions(), dto.getCorrectAnswers(), quiz);
+                    position += Question.POSITION_GAP;
+                    question.setPosition(position);
+                    questions.add(question);
+                }
+                questionRepository.saveAll(questions);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            result.setImported(result.getImported() + chunk.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Failed to store {} imported questions for quiz {}", chunk.size(), quizId, e);
+            for (Long lineNumber : chunkLines) {
+                fail(result, lineNumber, "Could not be stored");
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private void validate(CreateQuestionDTO dto) {
+        Set<ConstraintViolation<CreateQuestionDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        QuestionService.validateAnswers(dto);
+    }
+
+    private void fail(BulkImportResult result, long lineNumber, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new BulkImportResult.LineError(lineNumber, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static String message(Exception e) {
+        if (e instanceof IOException) {
+            return "Malformed JSON";
+        }
+        return e.getMessage();
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.replace("\"", "").replace(" ", "").equalsIgnoreCase(CSV_HEADER);
+    }
+
+    static CreateQuestionDTO parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("Expected 3 columns (text,options,correctAnswers), got " + fields.size());
+        }
+        CreateQuestionDTO dto = new CreateQuestionDTO();
+        dto.setText(fields.get(0));
+        dto.setOptions(fields.get(1).isEmpty() ? List.of() : Arrays.asList(fields.get(1).split("\\|", -1)));
+        List<Integer> answers = new ArrayList<>();
+        if (!fields.get(2).isBlank()) {
+            for (String idx : fields.get(2).split("\\|", -1)) {
+                try {
+                    answers.add(Integer.valueOf(idx.trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("correctAnswers contains invalid index: " + idx);
+                }
+            }
+        }
+        dto.setCorrectAnswers(answers);
+        return dto;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Reads lines of at most {@code maxLength} characters; the rest of a longer
+     * line is discarded and the line is flagged as truncated.
+     */
+    private static final class LineReader {
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buf = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int pos;
+        private int len;
+        private long lineNumber;
+        private boolean truncated;
+
+        LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        String next() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            boolean any = false;
+            while (true) {
+                if (pos == len) {
+                    len = in.read(buf);
+                    pos = 0;
+                    if (len <= 0) {
+                        len = 0;
+                        if (!any) {
+                            return null;
+                        }
+                        break;
+                    }
+                }
+                any = true;
+                char c = buf[pos++];
+                if (c == '\n') {
+                    break;
+                }
+                if (line.length() < maxLength) {
+                    line.append(c);
+                } else {
+                    truncated = true;
+                }
+            }
+            lineNumber++;
+            int end = line.length();
+            if (end > 0 && line.charAt(end - 1) == '\r') {
+                line.setLength(end - 1);
+            }
+            return line.toString();
+        }
+
+        long lineNumber() {
+            return lineNumber;
+        }
+
+        boolean truncated() {
+            return truncated;
+        }
+    }
+}
@@ -1,111 +1,133 @@
 package com.example.studybuddy.service;
 
 import com.example.studybuddy.dto.CreateQuestionDTO;
+import com.example.studybuddy.dto.QuestionDTO;
+import com.example.studybuddy.model.AnswerKey;
 import com.example.studybuddy.model.Question;
-import com.example.studybuddy.model.Quiz;
-import com.example.studybuddy.model.User;
 import com.example.studybuddy.repository.QuestionRepository;
 import com.example.studybuddy.repository.QuizRepository;
+import com.example.studybuddy.security.AuthorizationContext;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.security.access.AccessDeniedException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Transactional
 public class QuestionService {
     private final QuestionRepository questionRepository;
     private final QuizRepository quizRepository;
+    private final AuthorizationContext authorization;
+    private final Cache cache;
 
-    public QuestionService(QuestionRepository questionRepository, QuizRepository quizRepository) {
+    public QuestionService(QuestionRepository questionRepository, QuizRepository quizRepository,
+                           AuthorizationContext authorization, EntityManagerFactory entityManagerFactory) {
         this.questionRepository = questionRepository;
         this.quizRepository = quizRepository;
+        this.authorization = authorization;
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
     }
 
+    @Transactional(readOnly = true)
     public List<Question> findAllByQuiz(Long quizId) {
-        quizRepository.findById(quizId).orElseThrow(() ->
-                new EntityNotFoundException("Quiz not found with id " + quizId));
-        return questionRepository.findAllByQuizId(quizId);
+        if (!quizRepository.existsById(quizId)) {
+            throw new EntityNotFoundException("Quiz not found with id " + quizId);
+        }
+        return questionRepository.findAllByQuizIdOrderByPositionAscIdAsc(quizId);
+    }
+
+    /**
+     * Questions in quiz order that follow {@code (afterPosition, afterId)}.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<QuestionDTO> findPageByQuiz(Long quizId, long afterPosition, long afterId, int limit) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new EntityNotFoundException("Quiz not found with id " + quizId);
+        }
+        List<QuestionDTO> rows = questionRepository.findDtosByQuizIdAfter(quizId, afterPosition, afterId,
+                Limit.of(limit + 1));
+        return KeysetPage.of(withLegacyAnswers(rows), limit, QuestionDTO::getId);
     }
 
+    @Transactional(readOnly = true)
     public Question findById(Long id) {
         return questionRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Question not found with id " + id));
     }
 
-    public Question createQuestion(Long quizId, CreateQuestionDTO dto) {
-        Quiz quiz = quizRepository.findById(quizId)
-                .orElseThrow(() -> new EntityNotFoundException("Quiz not found with id " + quizId));
-
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new AccessDeniedException("User not authenticated");
-        }
-
-        boolean isAdmin = auth.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(a -> a.equals("ROLE_ADMIN"));
+    @Transactional(readOnly = true)
+    public QuestionDTO findDtoById(Long id) {
+        QuestionDTO dto = questionRepository.findDtoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Question not found with id " + id));
+        return withLegacyAnswers(List.of(dto)).get(0);
+    }
 
-        String username;
-        Object principal = auth.getPrincipal();
-        if (principal instanceof UserDetails) username = ((UserDetails) principal).getUsername();
-        else username = principal.toString();
+    /**
+     * Version of the question, or empty if there is no such question in the quiz.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long quizId, Long questionId) {
+        return questionRepository.findVersionByIdAndQuizId(questionId, quizId);
+    }
 
-        User owner = quiz.getCourse().getOwner();
-        if (!isAdmin && (owner == null || !username.equals(owner.getUsername()))) {
-            throw new AccessDeniedException("Only the course owner or an admin can add questions");
+    /**
+     * Fills options and answers for rows QuestionStorageMigrator has not packed yet,
+     * which the projection returns as null, from the legacy tables.
+     */
+    private List<QuestionDTO> withLegacyAnswers(List<QuestionDTO> rows) {
+        Map<Long, QuestionDTO> legacy = new HashMap<>();
+        for (QuestionDTO row : rows) {
+            if (row.getOptions() == null || row.getCorrectAnswers() == null) {
+                legacy.put(row.getId(), row);
+            }
         }
-
-        int optionsSize = dto.getOptions().size();
-        for (Integer idx : dto.getCorrectAnswers()) {
-            if (idx == null || idx < 0 || idx >= optionsSize) {
-                throw new IllegalArgumentException("correctAnswers contains invalid index: " + idx);
+        if (!legacy.isEmpty()) {
+            for (Question question : questionRepository.findAllById(legacy.keySet())) {
+                QuestionDTO row = legacy.get(question.getId());
+                row.setOptions(question.getOptions());
+                row.setCorrectAnswers(question.getCorrectAnswers());
             }
         }
+        return rows;
+    }
+
+    public Question createQuestion(Long quizId, CreateQuestionDTO dto) {
+        authorization.requireQuizOwnerOrAdmin(quizId, "Only the course owner or an admin can add questions");
+
+        validateAnswers(dto);
 
         Question q = new Question();
         q.setText(dto.getText());
         q.setOptions(dto.getOptions());
         q.setCorrectAnswers(dto.getCorrectAnswers());
-        q.setQuiz(quiz);
+        q.setQuiz(quizRepository.getReferenceById(quizId));
+        q.setPosition(questionRepository.findMaxPositionByQuizId(quizId) + Question.POSITION_GAP);
 
         return questionRepository.save(q);
     }
 
-    public Question updateQuestion(Long quizId, Long questionId, CreateQuestionDTO dto) {
+    /**
+     * @param expectedVersion version the caller last saw, or null to update unconditionally
+     */
+    public Question updateQuestion(Long quizId, Long questionId, CreateQuestionDTO dto, Long expectedVersion) {
         Question existing = findById(questionId);
         if (!existing.getQuiz().getId().equals(quizId)) {
             throw new IllegalArgumentException("Question does not belong to quiz " + quizId);
         }
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new AccessDeniedException("User not authenticated");
-        }
-        boolean isAdmin = auth.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(a -> a.equals("ROLE_ADMIN"));
-        String username;
-        Object principal = auth.getPrincipal();
-        if (principal instanceof UserDetails) username = ((UserDetails) principal).getUsername();
-        else username = principal.toString();
-        User owner = existing.getQuiz().getCourse().getOwner();
-        if (!isAdmin && (owner == null || !username.equals(owner.getUsername()))) {
-            throw new AccessDeniedException("Only the course owner or an admin can update questions");
-        }
+        authorization.requireQuizOwnerOrAdmin(quizId, "Only the course owner or an admin can update questions");
+        requireVersion(existing, expectedVersion);
 
-        int optionsSize = dto.getOptions().size();
-        for (Integer idx : dto.getCorrectAnswers()) {
-            if (idx == null || idx < 0 || idx >= optionsSize) {
-                throw new IllegalArgumentException("correctAnswers contains invalid index: " + idx);
-            }
-        }
+        validateAnswers(dto);
 
         existing.setText(dto.getText());
         existing.setOptions(dto.getOptions());
@@ -113,28 +135,98 @@ public class QuestionService {
         return questionRepository.save(existing);
     }
 
-    public void deleteById(Long quizId, Long questionId) {
-        Question q = findById(questionId);
-        if (!q.getQuiz().getId().equals(quizId)) {
+    /**
+     * Moves the question directly after {@code afterQuestionId}, or to the top when
+     * it is null, by giving it a position between its new neighbours. Only the moved
+     * row is updated unless the neighbours are adjacent, in which case the quiz is
+     * renumbered first.
+     */
+    public Question moveQuestion(Long quizId, Long questionId, Long afterQuestionId) {
+        Question moved = findById(questionId);
+        if (!moved.getQuiz().getId().equals(quizId)) {
             throw new IllegalArgumentException("Question does not belong to quiz " + quizId);
         }
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new AccessDeniedException("User not authenticated");
+        authorization.requireQuizOwnerOrAdmin(quizId, "Only the course owner or an admin can reorder questions");
+
+        if (questionId.equals(afterQuestionId)) {
+            return moved;
+        }
+        Long position = positionAfter(quizId, questionId, afterQuestionId);
+        if (position == null) {
+            questionRepository.renumber(quizId, Question.POSITION_GAP);
+            // Hibernate only drops the cached questions once this transaction
+            // completes; reload them with their new positions and versions now.
+            cache.evictRegion(Question.CACHE_REGION);
+            position = positionAfter(quizId, questionId, afterQuestionId);
+            moved = findById(questionId);
+        }
+        moved.setPosition(position);
+        return moved;
+    }
+
+    /**
+     * A position strictly between {@code afterQuestionId} (or the top of the quiz)
+     * and the question currently following it, or null if there is no room.
+     */
+    private Long positionAfter(Long quizId, Long questionId, Long afterQuestionId) {
+        long low = -1;
+        long lowId = 0;
+        if (afterQuestionId != null) {
+            Question anchor = findById(afterQuestionId);
+            if (!anchor.getQuiz().getId().equals(quizId)) {
+                throw new IllegalArgumentException("Question " + afterQuestionId + " does not belong to quiz " + quizId);
+            }
+            low = anchor.getPosition();
+            lowId = anchor.getId();
         }
-        boolean isAdmin = auth.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(a -> a.equals("ROLE_ADMIN"));
-        String username;
-        Object principal = auth.getPrincipal();
-        if (principal instanceof UserDetails) username = ((UserDetails) principal).getUsername();
-        else username = principal.toString();
-        User owner = q.getQuiz().getCourse().getOwner();
-        if (!isAdmin && (owner == null || !username.equals(owner.getUsername()))) {
-            throw new AccessDeniedException("Only the course owner or an admin can delete questions");
+        List<Question> next = questionRepository.findNext(quizId, low, lowId, questionId, Limit.of(1));
+        if (next.isEmpty()) {
+            return low + Question.POSITION_GAP;
+        }
+        long high = next.get(0).getPosition();
+        return high - low >= 2 ? low + (high - low) / 2 : null;
+    }
+
+    /**
+     * Deletes the question. With an {@code expectedVersion} nothing is deleted unless
+     * the question is still at that version; a mismatch throws
+     * {@link ObjectOptimisticLockingFailureException}, which the API maps to 412 when
+     * the request sent {@code If-Match} and 409 otherwise.
+     */
+    public void deleteById(Long quizId, Long questionId, Long expectedVersion) {
+        Question q = findById(questionId);
+        if (!q.getQuiz().getId().equals(quizId)) {
+            throw new IllegalArgumentException("Question does not belong to quiz " + quizId);
         }
 
+        authorization.requireQuizOwnerOrAdmin(quizId, "Only the course owner or an admin can delete questions");
+        requireVersion(q, expectedVersion);
+
         questionRepository.deleteById(questionId);
     }
-}
\ No newline at end of file
+
+    // The version is checked again when the change is flushed, so a concurrent
+    // update between this check and the commit still fails.
+    private static void requireVersion(Question question, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != question.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Question.class, question.getId());
+        }
+    }
+
+    /**
+     * Rejects more than {@link AnswerKey#MAX_OPTIONS} options and correct-answer
+     * indices outside the option list.
+     */
+    static void validateAnswers(CreateQuestionDTO dto) {
+        int optionsSize = dto.getOptions().size();
+        if (optionsSize > AnswerKey.MAX_OPTIONS) {
+            throw new IllegalArgumentException("At most " + AnswerKey.MAX_OPTIONS + " options are supported");
+        }
+        for (Integer idx : dto.getCorrectAnswers()) {
+            if (idx == null || idx < 0 || idx >= optionsSize) {
+                throw new IllegalArgumentException("correctAnswers contains invalid index: " + idx);
+            }
+        }
+    }
+}
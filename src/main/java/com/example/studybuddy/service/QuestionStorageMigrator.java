@@ -0,0 +1,134 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.model.AnswerKey;
+import com.example.studybuddy.model.Question;
+import com.example.studybuddy.model.StringListConverter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves question options and answers out of the {@code question_options} and
+ * {@code question_answers} tables into the packed {@code options_json} and
+ * {@code answer_mask} columns, a batch at a time, while the application keeps
+ * serving. Unmigrated rows are recognised by a null packed column and are still
+ * readable through the legacy mapping on {@code Question}. Questions with a
+ * correct answer index the packed mask cannot hold are left unmigrated, with a
+ * warning, rather than losing that answer. The writes bypass Hibernate, so the
+ * question cache regions are evicted after every batch.
+ */
+@Component
+public class QuestionStorageMigrator {
+    private static final Logger log = LoggerFactory.getLogger(QuestionStorageMigrator.class);
+    private static final String UNPACKABLE = "exists (select 1 from question_answers a where a.question_id = q.id"
+            + " and (a.correct_index < 0 or a.correct_index >= " + AnswerKey.MAX_OPTIONS + "))";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final Cache cache;
+    private final boolean enabled;
+    private final int batchSize;
+    private final StringListConverter optionsConverter = new StringListConverter();
+
+    public QuestionStorageMigrator(NamedParameterJdbcTemplate jdbc,
+                                   PlatformTransactionManager transactionManager,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${question.storage.migration.enabled:true}") boolean enabled,
+                                   @Value("${question.storage.migration.batch-size:500}") int batchSize) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${question.storage.migration.initial-delay-ms:10000}",
+            fixedDelayString = "${question.storage.migration.interval-ms:300000}")
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+        int total = 0;
+        int moved;
+        do {
+            moved = migrateBatch();
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Packed options and answers for {} questions", total);
+        }
+        List<Long> skipped = jdbc.queryForList(
+                "select q.id from questions q where (q.options_json is null or q.answer_mask is null) and "
+                        + UNPACKABLE + " order by q.id limit 100",
+                new MapSqlParameterSource(), Long.class);
+        if (!skipped.isEmpty()) {
+            log.warn("Left questions unpacked because a correct answer index is outside 0..{}: {}",
+                    AnswerKey.MAX_OPTIONS - 1, skipped);
+        }
+    }
+
+    /**
+     * Migrates up to {@code batchSize} questions in one transaction.
+     *
+     * @return number of questions migrated
+     */
+    public int migrateBatch() {
+        Integer moved = tx.execute(status -> {
+            List<Long> ids = jdbc.queryForList(
+                    "select q.id from questions q where (q.options_json is null or q.answer_mask is null) "
+                            + "and not " + UNPACKABLE + " order by q.id limit :limit",
+                    new MapSqlParameterSource("limit", batchSize), Long.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            MapSqlParameterSource byIds = new MapSqlParameterSource("ids", ids);
+
+            Map<Long, List<String>> options = new HashMap<>();
+            jdbc.query("select question_id, option_text from question_options where question_id in (:ids)",
+                    byIds, rs -> {
+                        options.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getString(2));
+                    });
+            Map<Long, Long> masks = new HashMap<>();
+            jdbc.query("select question_id, correct_index from question_answers where question_id in (:ids)",
+                    byIds, rs -> {
+                        masks.merge(rs.getLong(1), 1L << rs.getInt(2), (a, b) -> a | b);
+                    });
+
+            MapSqlParameterSource[] updates = new MapSqlParameterSource[ids.size()];
+            for (int i = 0; i < ids.size(); i++) {
+                Long id = ids.get(i);
+                updates[i] = new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("options", optionsConverter.convertToDatabaseColumn(options.getOrDefault(id, List.of())))
+                        .addValue("mask", masks.getOrDefault(id, 0L));
+            }
+            jdbc.batchUpdate("update questions set options_json = coalesce(options_json, :options), "
+                    + "answer_mask = coalesce(answer_mask, :mask) where id = :id", updates);
+            jdbc.update("delete from question_options where question_id in (:ids)", byIds);
+            jdbc.update("delete from question_answers where question_id in (:ids)", byIds);
+            return ids.size();
+        });
+        if (moved == null || moved == 0) {
+            return 0;
+        }
+        cache.evictRegion(Question.CACHE_REGION);
+        cache.evictRegion(Question.OPTIONS_CACHE_REGION);
+        cache.evictRegion(Question.ANSWERS_CACHE_REGION);
+        cache.evictQueryRegion(Question.LISTING_QUERY_CACHE_REGION);
+        return moved;
+    }
+}
@@ -1,19 +1,19 @@
 package com.example.studybuddy.service;
 
 import com.example.studybuddy.dto.CreateQuizDTO;
+import com.example.studybuddy.dto.QuizDTO;
 import com.example.studybuddy.model.Quiz;
 import com.example.studybuddy.model.Course;
-import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.QuestionRepository;
 import com.example.studybuddy.repository.QuizRepository;
 import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.security.AuthorizationContext;
+import com.example.studybuddy.security.OwnershipIndex;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.GrantedAuthority;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.security.access.AccessDeniedException;
 
 import java.util.List;
 
@@ -24,76 +24,115 @@ import java.util.List;
 public class QuizService {
     private final QuizRepository quizRepository;
     private final CourseRepository courseRepository;
+    private final QuestionRepository questionRepository;
+    private final OwnershipIndex ownershipIndex;
+    private final AuthorizationContext authorization;
 
-    public QuizService(QuizRepository quizRepository, CourseRepository courseRepository) {
+    public QuizService(QuizRepository quizRepository, CourseRepository courseRepository,
+                       QuestionRepository questionRepository,
+                       OwnershipIndex ownershipIndex, AuthorizationContext authorization) {
         this.quizRepository = quizRepository;
         this.courseRepository = courseRepository;
+        this.questionRepository = questionRepository;
+        this.ownershipIndex = ownershipIndex;
+        this.authorization = authorization;
     }
 
+    @Transactional(readOnly = true)
     public List<Quiz> findAll() {
         return quizRepository.findAll();
     }
 
+    /**
+     * Quizzes with ids above {@code after}, optionally restricted to one course,
+     * as an index range scan of at most {@code limit} rows.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<QuizDTO> findPage(Long courseId, long after, int limit) {
+        List<QuizDTO> rows;
+        if (courseId == null) {
+            rows = quizRepository.findDtosAfter(after, Limit.of(limit + 1));
+        } else {
+            if (ownershipIndex.ownerOfCourse(courseId).isEmpty()) {
+                throw new EntityNotFoundException("Course not found with id " + courseId);
+            }
+            rows = quizRepository.findDtosByCourseIdAfter(courseId, after, Limit.of(limit + 1));
+        }
+        return KeysetPage.of(rows, limit, QuizDTO::getId);
+    }
+
+    @Transactional(readOnly = true)
     public Quiz findById(Long id) {
         return quizRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Quiz not found with id " + id));
     }
 
+    @Transactional(readOnly = true)
+    public QuizDTO findDtoById(Long id) {
+        return quizRepository.findDtoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Quiz not found with id " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public long findVersion(Long id) {
+        return quizRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Quiz not found with id " + id));
+    }
+
 
     public Quiz save(Quiz quiz) {
         Long courseId = quiz.getCourse() != null ? quiz.getCourse().getId() : null;
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new EntityNotFoundException("Course not found with id " + courseId));
         quiz.setCourse(course);
-        return quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        ownershipIndex.quizChanged(saved.getId());
+        return saved;
     }
 
     public Quiz createQuiz(CreateQuizDTO dto) {
         Long courseId = dto.getCourseId();
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new EntityNotFoundException("Course not found with id " + courseId));
-
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new AccessDeniedException("User not authenticated");
-        }
-
-        boolean isAdmin = auth.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .anyMatch(a -> a.equals("ROLE_ADMIN"));
-
-        String username;
-        Object principal = auth.getPrincipal();
-        if (principal instanceof UserDetails) {
-            username = ((UserDetails) principal).getUsername();
-        } else {
-            username = principal.toString();
-        }
-
-        User owner = course.getOwner();
-        if (!isAdmin && (owner == null || !username.equals(owner.getUsername()))) {
-            throw new AccessDeniedException("Only the course owner or an admin can create a quiz for this course");
-        }
+        authorization.requireCourseOwnerOrAdmin(courseId,
+                "Only the course owner or an admin can create a quiz for this course");
 
         Quiz quiz = new Quiz();
         quiz.setTitle(dto.getTitle());
-        quiz.setCourse(course);
+        quiz.setCourse(courseRepository.getReferenceById(courseId));
         return quizRepository.save(quiz);
     }
 
-    public Quiz update(Long id, Quiz updated) {
+    /**
+     * @param expectedVersion version the caller last saw, or null to update unconditionally
+     */
+    public Quiz update(Long id, Quiz updated, Long expectedVersion) {
         Quiz existing = findById(id);
+        if (expectedVersion != null && expectedVersion != existing.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Quiz.class, id);
+        }
         existing.setTitle(updated.getTitle());
         if (updated.getCourse() != null) {
             Long newCourseId = updated.getCourse().getId();
             Course newCourse = courseRepository.findById(newCourseId)
                     .orElseThrow(() -> new EntityNotFoundException("Course not found with id " + newCourseId));
             existing.setCourse(newCourse);
+            ownershipIndex.quizChanged(id);
         }
         return quizRepository.save(existing);
     }
 
-    public void deleteById(Long id) {
-        quizRepository.deleteById(id);
+    /**
+     * Deletes the quiz and its questions with set-based statements, without loading
+     * any of them. With an {@code expectedVersion} nothing is deleted unless the quiz
+     * is still at that version; a mismatch throws {@link ObjectOptimisticLockingFailureException},
+     * which the API maps to 412 when the request sent {@code If-Match} and 409 otherwise.
+     */
+    public void deleteById(Long id, Long expectedVersion) {
+        questionRepository.deleteAllInQuiz(id);
+        if (expectedVersion == null) {
+            quizRepository.deleteInBulkById(id);
+        } else if (quizRepository.deleteInBulkByIdAndVersion(id, expectedVersion) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Quiz.class, id);
+        }
+        ownershipIndex.quizChanged(id);
     }
 }
@@ -0,0 +1,99 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.model.RefreshToken;
+import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.RefreshTokenRepository;
+import com.example.studybuddy.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Issues opaque refresh tokens and rotates them on every use. Only the SHA-256
+ * of a token is stored, and a refresh looks it up through the unique index on it.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final long refreshExpirationMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               @Value("${jwt.refresh-expiration-ms:2592000000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    public String issue(Long userId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        String hash = hash(raw);
+        Instant expiresAt = Instant.now().plusMillis(refreshExpirationMs);
+
+        refreshTokenRepository.save(new RefreshToken(hash, userId, expiresAt));
+        return raw;
+    }
+
+    /**
+     * Consumes the given refresh token and returns its user together with a
+     * freshly issued replacement. A token can be used only once.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        String hash = hash(rawToken);
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash)
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        if (refreshTokenRepository.deleteByTokenHash(hash) == 0) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        if (token.getExpiresAt().isBefore(Instant.now())) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        User user = userRepository.findById(token.getUserId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        return new Rotation(user, issue(user.getId()));
+    }
+
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Rotation(User user, String refreshToken) {}
+}
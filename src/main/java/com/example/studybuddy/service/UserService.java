@@ -5,6 +5,7 @@ import com.example.studybuddy.repository.UserRepository;
 import com.example.studybuddy.repository.CourseRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,15 +24,23 @@ public class UserService {
         this.passwordEncoder = passwordEncoder;
     }
 
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<User> findPage(long after, int limit) {
+        return KeysetPage.of(userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1)), limit, User::getId);
+    }
+
+    @Transactional(readOnly = true)
     public User findById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id " + id));
     }
 
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
@@ -42,6 +51,13 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    public User updateEncodedPassword(String username, String encodedPassword) {
+        User existing = userRepository.findByUsername(username)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with username " + username));
+        existing.setPassword(encodedPassword);
+        return userRepository.save(existing);
+    }
+
     public User update(Long id, User updated) {
         User existing = findById(id);
         existing.setUsername(updated.getUsername());
@@ -0,0 +1,90 @@
+-- H2 counterpart of db/migration/postgresql/V1__baseline.sql, used by tests and
+-- local runs on an empty in-memory database.
+
+create sequence users_seq start with 1 increment by 50;
+create sequence courses_seq start with 1 increment by 50;
+create sequence quizzes_seq start with 1 increment by 50;
+create sequence questions_seq start with 1 increment by 50;
+
+create table users (
+    id       bigint       not null,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    role     varchar(255) not null,
+    -- H2 has no expression indexes; a generated column stands in for lower(username).
+    username_lower varchar(255) generated always as (lower(username)),
+    primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table courses (
+    id          bigint        not null,
+    title       varchar(255)  not null,
+    description varchar(1000),
+    owner_id    bigint        not null,
+    primary key (id),
+    constraint fk_courses_owner foreign key (owner_id) references users
+);
+
+create table quizzes (
+    id        bigint       not null,
+    title     varchar(255) not null,
+    course_id bigint       not null,
+    primary key (id),
+    constraint fk_quizzes_course foreign key (course_id) references courses
+);
+
+create table questions (
+    id           bigint        not null,
+    text         varchar(1000) not null,
+    options_json varchar(65535),
+    answer_mask  bigint,
+    quiz_id      bigint        not null,
+    primary key (id),
+    constraint fk_questions_quiz foreign key (quiz_id) references quizzes
+);
+
+create table question_options (
+    question_id bigint not null,
+    option_text varchar(255),
+    constraint fk_question_options_question foreign key (question_id) references questions
+);
+
+create table question_answers (
+    question_id   bigint not null,
+    correct_index integer,
+    constraint fk_question_answers_question foreign key (question_id) references questions
+);
+
+create table refresh_tokens (
+    id         bigint generated by default as identity,
+    token_hash varchar(64)                 not null,
+    user_id    bigint                      not null,
+    expires_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+);
+
+create table revoked_tokens (
+    jti        varchar(64)                 not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null,
+    primary key (jti)
+);
+
+create table jwt_signing_keys (
+    kid         varchar(64)                 not null,
+    algorithm   varchar(16)                 not null,
+    public_key  varchar(4096)               not null,
+    private_key varchar(8192)               not null,
+    created_at  timestamp(6) with time zone not null,
+    expires_at  timestamp(6) with time zone not null,
+    primary key (kid)
+);
+
+create index idx_courses_owner_id on courses (owner_id);
+create index idx_quizzes_course_id on quizzes (course_id, id);
+create index idx_questions_quiz_id on questions (quiz_id, id);
+create index idx_question_options_question_id on question_options (question_id);
+create index idx_question_answers_question_id on question_answers (question_id);
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
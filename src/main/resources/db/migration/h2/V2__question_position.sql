@@ -0,0 +1,4 @@
+alter table questions add column position bigint not null default 0;
+
+drop index idx_questions_quiz_id;
+create index idx_questions_quiz_position on questions (quiz_id, position, id);
@@ -0,0 +1,4 @@
+-- Optimistic-locking versions, also served as ETags.
+alter table courses add column version bigint not null default 0;
+alter table quizzes add column version bigint not null default 0;
+alter table questions add column version bigint not null default 0;
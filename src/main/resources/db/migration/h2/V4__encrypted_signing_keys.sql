@@ -0,0 +1,5 @@
+-- Private signing keys are stored AES-GCM encrypted under jwt.keys.encryption-key.
+-- Plaintext keys are dropped rather than kept at rest; a new key is generated at
+-- startup and access tokens signed with the old ones have to be refreshed.
+delete from jwt_signing_keys;
+alter table jwt_signing_keys alter column private_key rename to encrypted_private_key;
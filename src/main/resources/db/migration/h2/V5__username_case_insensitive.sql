@@ -0,0 +1,2 @@
+-- Usernames are unique ignoring case.
+create unique index ux_users_username_lower on users (username_lower);
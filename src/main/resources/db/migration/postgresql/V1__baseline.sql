@@ -0,0 +1,124 @@
+-- Baseline schema. Databases created by Hibernate's ddl-auto=update are
+-- baselined at version 0, so every statement here must be safe to run against
+-- them: objects are created only if missing.
+
+create sequence if not exists users_seq start with 1 increment by 50;
+create sequence if not exists courses_seq start with 1 increment by 50;
+create sequence if not exists quizzes_seq start with 1 increment by 50;
+create sequence if not exists questions_seq start with 1 increment by 50;
+
+create table if not exists users (
+    id       bigint       not null,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    role     varchar(255) not null,
+    primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table if not exists courses (
+    id          bigint        not null,
+    title       varchar(255)  not null,
+    description varchar(1000),
+    owner_id    bigint        not null,
+    primary key (id)
+);
+
+create table if not exists quizzes (
+    id        bigint       not null,
+    title     varchar(255) not null,
+    course_id bigint       not null,
+    primary key (id)
+);
+
+create table if not exists questions (
+    id           bigint        not null,
+    text         varchar(1000) not null,
+    options_json varchar(65535),
+    answer_mask  bigint,
+    quiz_id      bigint        not null,
+    primary key (id)
+);
+alter table questions add column if not exists options_json varchar(65535);
+alter table questions add column if not exists answer_mask bigint;
+
+create table if not exists question_options (
+    question_id bigint not null,
+    option_text varchar(255)
+);
+
+create table if not exists question_answers (
+    question_id   bigint not null,
+    correct_index integer
+);
+
+create table if not exists refresh_tokens (
+    id         bigint generated by default as identity,
+    token_hash varchar(64)              not null,
+    user_id    bigint                   not null,
+    expires_at timestamp(6) with time zone not null,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+);
+
+create table if not exists revoked_tokens (
+    jti        varchar(64)              not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null,
+    primary key (jti)
+);
+
+create table if not exists jwt_signing_keys (
+    kid         varchar(64)              not null,
+    algorithm   varchar(16)              not null,
+    public_key  varchar(4096)            not null,
+    private_key varchar(8192)            not null,
+    created_at  timestamp(6) with time zone not null,
+    expires_at  timestamp(6) with time zone not null,
+    primary key (kid)
+);
+
+-- Foreign keys, unless the column already has one (Hibernate named them itself).
+do $$
+declare
+    fk record;
+begin
+    for fk in select * from (values
+            ('courses', 'owner_id', 'users', 'fk_courses_owner'),
+            ('quizzes', 'course_id', 'courses', 'fk_quizzes_course'),
+            ('questions', 'quiz_id', 'quizzes', 'fk_questions_quiz'),
+            ('question_options', 'question_id', 'questions', 'fk_question_options_question'),
+            ('question_answers', 'question_id', 'questions', 'fk_question_answers_question')
+        ) as t(tbl, col, ref, name)
+    loop
+        if not exists (
+                select 1
+                from pg_constraint c
+                join pg_attribute a on a.attrelid = c.conrelid and a.attnum = any (c.conkey)
+                where c.contype = 'f' and c.conrelid = fk.tbl::regclass and a.attname = fk.col) then
+            execute format('alter table %I add constraint %I foreign key (%I) references %I',
+                    fk.tbl, fk.name, fk.col, fk.ref);
+        end if;
+    end loop;
+end
+$$;
+
+-- Foreign-key and lookup indexes.
+create index if not exists idx_courses_owner_id on courses (owner_id);
+create index if not exists idx_quizzes_course_id on quizzes (course_id, id);
+create index if not exists idx_questions_quiz_id on questions (quiz_id, id);
+create index if not exists idx_question_options_question_id on question_options (question_id);
+create index if not exists idx_question_answers_question_id on question_answers (question_id);
+create index if not exists idx_refresh_tokens_user_id on refresh_tokens (user_id);
+
+-- Rows written while ids came from identity columns: move each pooled sequence
+-- past them if it is behind. The pooled optimizer uses (value - 50, value] for a
+-- fetched value, so the next value must be at least max(id) + 50.
+select setval('users_seq', (select max(id) from users) + 50, false)
+where (select last_value from users_seq) < (select coalesce(max(id), 0) from users);
+select setval('courses_seq', (select max(id) from courses) + 50, false)
+where (select last_value from courses_seq) < (select coalesce(max(id), 0) from courses);
+select setval('quizzes_seq', (select max(id) from quizzes) + 50, false)
+where (select last_value from quizzes_seq) < (select coalesce(max(id), 0) from quizzes);
+select setval('questions_seq', (select max(id) from questions) + 50, false)
+where (select last_value from questions_seq) < (select coalesce(max(id), 0) from questions);
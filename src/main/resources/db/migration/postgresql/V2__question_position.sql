@@ -0,0 +1,10 @@
+-- Gapped sort key for questions within a quiz. Existing questions keep their id
+-- order, spaced 65536 apart so moves can take the midpoint between neighbours.
+alter table questions add column position bigint not null default 0;
+
+update questions q set position = r.rn * 65536
+from (select id, row_number() over (partition by quiz_id order by id) as rn from questions) r
+where q.id = r.id;
+
+drop index if exists idx_questions_quiz_id;
+create index idx_questions_quiz_position on questions (quiz_id, position, id);
@@ -0,0 +1,20 @@
+-- Usernames are unique ignoring case. Accounts that differ only in case would
+-- make the index fail with a bare duplicate-key error, so name them first and
+-- stop; the migration is rolled back and can simply be rerun once they are fixed.
+do $$
+declare
+    duplicates text;
+begin
+    select string_agg(names, '; ') into duplicates
+    from (select string_agg(username || ' (id ' || id || ')', ', ' order by id) as names
+          from users
+          group by lower(username)
+          having count(*) > 1) d;
+    if duplicates is not null then
+        raise exception 'Usernames that differ only in case: %', duplicates
+            using hint = 'Rename all but one account of each group, then restart. See "Case-duplicate usernames" in Readme.md.';
+    end if;
+end
+$$;
+
+create unique index if not exists ux_users_username_lower on users (lower(username));
@@ -14,6 +14,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
@@ -97,6 +98,24 @@ class AuthControllerIntegrationTest {
                 .andExpect(status().isConflict());
     }
 
+    @Test
+    void register_usernameDifferingOnlyInCase_returns409() throws Exception {
+        RegistrationRequest r1 = new RegistrationRequest();
+        r1.setUsername("Jane");
+        r1.setPassword("pw12345");
+        r1.setRole("STUDENT");
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(r1)))
+                .andExpect(status().isCreated());
+
+        r1.setUsername("jane");
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(r1)))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void register_invalidPassword_returns400() throws Exception {
         RegistrationRequest req = new RegistrationRequest();
@@ -140,6 +159,72 @@ class AuthControllerIntegrationTest {
                 .andExpect(content().string("Invalid credentials"));
     }
 
+    @Test
+    void login_withDifferentCostHash_rehashesStoredPassword() throws Exception {
+        var u = new com.example.studybuddy.model.User();
+        u.setUsername("legacy");
+        u.setPassword(new BCryptPasswordEncoder(5).encode("oldHash123"));
+        u.setRole("STUDENT");
+        userRepository.save(u);
+
+        var creds = Map.of("username", "legacy", "password", "oldHash123");
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(creds)))
+                .andExpect(status().isOk());
+
+        String stored = userRepository.findByUsername("legacy").orElseThrow().getPassword();
+        assertThat(stored).startsWith("{bcrypt}$2a$04$");
+        assertThat(passwordEncoder.matches("oldHash123", stored)).isTrue();
+    }
+
+    @Test
+    void refresh_rotatesTokenAndRejectsReuse() throws Exception {
+        var creds = Map.of("username", "jane", "password", "letMeIn123");
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(creds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").isString())
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = objectMapper.readTree(body).get("refreshToken").asText();
+
+        String rotated = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isString())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(objectMapper.readTree(rotated).get("refreshToken").asText()).isNotEqualTo(refreshToken);
+
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("invalid_grant"));
+    }
+
+    @Test
+    void oauthToken_refreshGrant_returnsNewPair() throws Exception {
+        String body = mockMvc.perform(post("/oauth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("grant_type", "password")
+                        .param("username", "jane")
+                        .param("password", "letMeIn123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refresh_token").isString())
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = objectMapper.readTree(body).get("refresh_token").asText();
+
+        mockMvc.perform(post("/oauth/token")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("grant_type", "refresh_token")
+                        .param("refresh_token", refreshToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.access_token").isString())
+                .andExpect(jsonPath("$.refresh_token").isString());
+    }
+
     @Test
     void login_missingUsername_returns400() throws Exception {
         mockMvc.perform(post("/api/auth/login")
@@ -2,20 +2,31 @@ package com.example.studybuddy.controller;
 
 import com.example.studybuddy.dto.CourseDTO;
 import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.Question;
+import com.example.studybuddy.model.Quiz;
 import com.example.studybuddy.model.User;
 import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuestionRepository;
+import com.example.studybuddy.repository.QuizRepository;
 import com.example.studybuddy.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,9 +44,21 @@ class CourseControllerIntegrationTest {
     @Autowired
     private CourseRepository courseRepo;
 
+    @Autowired
+    private QuizRepository quizRepo;
+
+    @Autowired
+    private QuestionRepository questionRepo;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private User instructor;
 
     @BeforeEach
@@ -79,6 +102,189 @@ class CourseControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].title").value("Physics"));
     }
 
+    @Test
+    @WithMockUser(username = "inst1", roles = "INSTRUCTOR")
+    void findAll_owner_pagedAndSorted() throws Exception {
+        Course other = new Course();
+        other.setTitle("Other");
+        other.setOwner(userRepo.findByUsername("superadmin").orElseThrow());
+        courseRepo.save(other);
+
+        mockMvc.perform(get("/api/courses")
+                        .param("size", "1")
+                        .param("sort", "title,desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Physics"));
+    }
+
+    @Test
+    @WithMockUser(username = "inst1", roles = "INSTRUCTOR")
+    void findAll_owner_seesCourseCreatedAfterCachedListing() throws Exception {
+        mockMvc.perform(get("/api/courses"))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        CourseDTO dto = new CourseDTO();
+        dto.setTitle("Chemistry");
+        mockMvc.perform(post("/api/courses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/courses"))
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(jsonPath("$[2].title").value("Chemistry"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void findAll_unknownSortProperty_badRequest() throws Exception {
+        mockMvc.perform(get("/api/courses").param("sort", "owner.password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "inst1", roles = "INSTRUCTOR")
+    void export_streamsCourseQuizzesAndQuestionsAsNdjson() throws Exception {
+        Course course = courseRepo.findAll().get(0);
+        Quiz quiz = quizRepo.save(new Quiz("Week 1", course));
+        questionRepo.save(new Question("2+2?", List.of("3", "4"), List.of(1), quiz));
+        Question added = questionRepo.save(new Question("1+1?", List.of("2", "11"), List.of(0), quiz));
+        entityManagerFactory.getCache().evictAll();
+
+        MvcResult started = mockMvc.perform(get("/api/courses/{id}/export", course.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(objectMapper.readTree(lines.get(0)).get("type").asText()).isEqualTo("course");
+        assertThat(objectMapper.readTree(lines.get(1)).get("title").asText()).isEqualTo("Week 1");
+        var question = objectMapper.readTree(lines.get(2));
+        assertThat(question.get("type").asText()).isEqualTo("question");
+        assertThat(question.get("quizId").asLong()).isEqualTo(quiz.getId());
+        assertThat(question.get("options").toString()).isEqualTo("[\"3\",\"4\"]");
+        assertThat(question.get("correctAnswers").toString()).isEqualTo("[1]");
+
+        assertThat(entityManagerFactory.getCache().contains(Course.class, course.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Quiz.class, quiz.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Question.class, added.getId())).isFalse();
+    }
+
+    @Test
+    @WithMockUser(username = "inst1", roles = "INSTRUCTOR")
+    void tree_nestsQuizzesAndQuestionsInPositionOrder() throws Exception {
+        Course course = courseRepo.findAll().get(0);
+        Quiz week1 = quizRepo.save(new Quiz("Week 1", course));
+        Quiz week2 = quizRepo.save(new Quiz("Week 2", course));
+        Question second = new Question("1+1?", List.of("2", "11"), List.of(0), week1);
+        second.setPosition(2 * Question.POSITION_GAP);
+        questionRepo.save(second);
+        Question first = new Question("2+2?", List.of("3", "4"), List.of(1), week1);
+        first.setPosition(Question.POSITION_GAP);
+        questionRepo.save(first);
+        Question legacy = questionRepo.save(new Question("Legacy?", List.of(), List.of(), week1));
+        legacy.setPosition(3 * Question.POSITION_GAP);
+        questionRepo.save(legacy);
+        jdbc.update("update questions set options_json = null, answer_mask = null where id = ?", legacy.getId());
+        jdbc.update("insert into question_options (question_id, option_text) values (?, 'yes')", legacy.getId());
+        jdbc.update("insert into question_answers (question_id, correct_index) values (?, 0)", legacy.getId());
+
+        mockMvc.perform(get("/api/courses/{id}/tree", course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Math 101"))
+                .andExpect(jsonPath("$.quizzes.length()").value(2))
+                .andExpect(jsonPath("$.quizzes[0].id").value(week1.getId()))
+                .andExpect(jsonPath("$.quizzes[0].questions[*].text").value(
+                        contains("2+2?", "1+1?", "Legacy?")))
+                .andExpect(jsonPath("$.quizzes[0].questions[0].options[1]").value("4"))
+                .andExpect(jsonPath("$.quizzes[0].questions[0].correctAnswers[0]").value(1))
+                .andExpect(jsonPath("$.quizzes[0].questions[0].quizId").value(week1.getId()))
+                .andExpect(jsonPath("$.quizzes[0].questions[2].options[0]").value("yes"))
+                .andExpect(jsonPath("$.quizzes[0].questions[2].correctAnswers[0]").value(0))
+                .andExpect(jsonPath("$.quizzes[1].id").value(week2.getId()))
+                .andExpect(jsonPath("$.quizzes[1].questions.length()").value(0));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void delete_staleIfMatch_leavesCourseAndQuizzes() throws Exception {
+        Course course = courseRepo.findAll().get(0);
+        Quiz quiz = quizRepo.save(new Quiz("Week 1", course));
+        questionRepo.save(new Question("2+2?", List.of("3", "4"), List.of(1), quiz));
+
+        mockMvc.perform(put("/api/courses/{id}", course.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Math 102\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(delete("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(courseRepo.existsById(course.getId())).isTrue();
+        assertThat(quizRepo.existsById(quiz.getId())).isTrue();
+        assertThat(questionRepo.count()).isEqualTo(1);
+
+        mockMvc.perform(delete("/api/courses/{id}", course.getId()).header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isNoContent());
+        assertThat(courseRepo.existsById(course.getId())).isFalse();
+    }
+
+    @Test
+    @WithMockUser(username = "inst1", roles = "INSTRUCTOR")
+    void tree_currentIfNoneMatch_notModified() throws Exception {
+        Course course = courseRepo.findAll().get(0);
+        Quiz quiz = quizRepo.save(new Quiz("Week 1", course));
+        Question question = questionRepo.save(new Question("2+2?", List.of("3", "4"), List.of(1), quiz));
+
+        String etag = mockMvc.perform(get("/api/courses/{id}/tree", course.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/courses/{id}/tree", course.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        question.setText("3+3?");
+        questionRepo.save(question);
+        mockMvc.perform(get("/api/courses/{id}/tree", course.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quizzes[0].questions[0].text").value("3+3?"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void tree_courseWithoutQuizzes_hasEmptyQuizList() throws Exception {
+        Long id = courseRepo.findAll().get(1).getId();
+
+        mockMvc.perform(get("/api/courses/{id}/tree", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.quizzes.length()").value(0));
+    }
+
+    @Test
+    @WithMockUser(username = "stranger", roles = "STUDENT")
+    void tree_nonOwner_forbidden() throws Exception {
+        Long id = courseRepo.findAll().get(0).getId();
+
+        mockMvc.perform(get("/api/courses/{id}/tree", id))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "stranger", roles = "STUDENT")
+    void export_nonOwner_forbidden() throws Exception {
+        Long id = courseRepo.findAll().get(0).getId();
+
+        mockMvc.perform(get("/api/courses/{id}/export", id))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void findById_notFound() throws Exception {
@@ -15,13 +15,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -70,6 +74,61 @@ class QuestionControllerIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkImport_ndjson_storesValidLinesAndReportsInvalidOnes() throws Exception {
+        String body = String.join("\n",
+                "{\"text\":\"Q1\",\"options\":[\"A\",\"B\"],\"correctAnswers\":[1]}",
+                "{\"text\":\"Q2\",\"options\":[\"A\",\"B\"],\"correctAnswers\":[2]}",
+                "",
+                "{\"text\":\"Q3\",\"options\":[\"A\"],\"correctAnswers\":[0]}",
+                "not json",
+                "{\"text\":\"Q4\",\"options\":[\"A\",\"B\",\"C\"],\"correctAnswers\":[0,2]}");
+
+        mockMvc.perform(post("/api/quizzes/{quizId}/questions:bulk", quiz.getId())
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("correctAnswers contains invalid index: 2"))
+                .andExpect(jsonPath("$.errors[1].line").value(5));
+
+        assertThat(questionRepo.findAllByQuizIdOrderByPositionAscIdAsc(quiz.getId()))
+                .extracting(Question::getText)
+                .containsExactlyInAnyOrder("Q1", "Q3", "Q4");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkImport_csv_parsesQuotedFieldsAndSkipsHeader() throws Exception {
+        String body = "text,options,correctAnswers\r\n"
+                + "\"Capital of France, in one word?\",Paris|Lyon,0\r\n"
+                + "\"Say \"\"hi\"\"\",hi|bye,0|x\r\n";
+
+        mockMvc.perform(post("/api/quizzes/{quizId}/questions:bulk", quiz.getId())
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        Question imported = questionRepo.findAllByQuizIdOrderByPositionAscIdAsc(quiz.getId()).get(0);
+        assertThat(imported.getText()).isEqualTo("Capital of France, in one word?");
+        assertThat(imported.getOptions()).containsExactly("Paris", "Lyon");
+        assertThat(imported.getCorrectAnswers()).containsExactly(0);
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void bulkImport_student_forbidden() throws Exception {
+        mockMvc.perform(post("/api/quizzes/{quizId}/questions:bulk", quiz.getId())
+                        .contentType("application/x-ndjson")
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getAll_empty_returnsEmptyList() throws Exception {
@@ -282,4 +341,198 @@ class QuestionControllerIntegrationTest {
         mockMvc.perform(delete("/api/quizzes/{quizId}/questions/{id}", quiz.getId(), q.getId()))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void move_reordersListingAndUpdatesOnlyMovedQuestion() throws Exception {
+        Question q1 = positioned("Q1", Question.POSITION_GAP);
+        Question q2 = positioned("Q2", 2 * Question.POSITION_GAP);
+        Question q3 = positioned("Q3", 3 * Question.POSITION_GAP);
+
+        mockMvc.perform(post("/api/quizzes/{quizId}/questions/{id}:move", quiz.getId(), q3.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"afterQuestionId\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").value((Question.POSITION_GAP - 1) / 2));
+        mockMvc.perform(post("/api/quizzes/{quizId}/questions/{id}:move", quiz.getId(), q1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"afterQuestionId\":" + q2.getId() + "}"))
+                .andExpect(status().isOk());
+
+        String cursor = mockMvc.perform(get("/api/quizzes/{quizId}/questions", quiz.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Q3"))
+                .andExpect(jsonPath("$[1].text").value("Q2"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+        mockMvc.perform(get("/api/quizzes/{quizId}/questions", quiz.getId()).param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].text").value("Q1"));
+        assertThat(questionRepo.findById(q2.getId()).orElseThrow().getPosition())
+                .isEqualTo(2 * Question.POSITION_GAP);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void move_withoutRoomBetweenNeighbours_renumbersQuiz() throws Exception {
+        Question q1 = positioned("Q1", 0);
+        Question q2 = positioned("Q2", 1);
+
+        mockMvc.perform(post("/api/quizzes/{quizId}/questions/{id}:move", quiz.getId(), q2.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk());
+
+        assertThat(questionRepo.findAllByQuizIdOrderByPositionAscIdAsc(quiz.getId()))
+                .extracting(Question::getText).containsExactly("Q2", "Q1");
+        assertThat(questionRepo.findById(q1.getId()).orElseThrow().getPosition()).isEqualTo(Question.POSITION_GAP);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void move_afterQuestionOfAnotherQuiz_returnsBadRequest() throws Exception {
+        Question q1 = positioned("Q1", Question.POSITION_GAP);
+        Quiz other = quizRepo.save(new Quiz("Other", quiz.getCourse()));
+        Question foreign = questionRepo.save(new Question("F", List.of("A"), List.of(0), other));
+
+        mockMvc.perform(post("/api/quizzes/{quizId}/questions/{id}:move", quiz.getId(), q1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"afterQuestionId\":" + foreign.getId() + "}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void findById_currentIfNoneMatch_notModifiedWithoutBody() throws Exception {
+        Question q = positioned("Q1", Question.POSITION_GAP);
+
+        String etag = mockMvc.perform(get("/api/quizzes/{quizId}/questions/{id}", quiz.getId(), q.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/quizzes/{quizId}/questions/{id}", quiz.getId(), q.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listing_changesEtagWhenAQuestionIsUpdated() throws Exception {
+        Question q = positioned("Q1", Question.POSITION_GAP);
+        positioned("Q2", 2 * Question.POSITION_GAP);
+
+        String etag = mockMvc.perform(get("/api/quizzes/{quizId}/questions", quiz.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/quizzes/{quizId}/questions", quiz.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/quizzes/{quizId}/questions/{id}", quiz.getId(), q.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"Q1 edited\",\"options\":[\"A\",\"B\"],\"correctAnswers\":[1]}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/quizzes/{quizId}/questions", quiz.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$[0].text").value("Q1 edited"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void update_ifMatch_rejectsStaleVersionAndAcceptsCurrentOne() throws Exception {
+        Question q = positioned("Q1", Question.POSITION_GAP);
+        String body = "{\"text\":\"Edited\",\"options\":[\"A\",\"B\"],\"correctAnswers\":[1]}";
+
+        mockMvc.perform(put("/api/quizzes/{quizId}/questions/{id}", quiz.getId(), q.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/api/quizzes/{quizId}/questions/{id}", quiz.getId(), q.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.replace("Edited", "Overwritten")))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(questionRepo.findById(q.getId()).orElseThrow().getText()).isEqualTo("Edited");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void delete_staleIfMatch_keepsQuestion() throws Exception {
+        Question q = positioned("Q1", Question.POSITION_GAP);
+
+        mockMvc.perform(delete("/api/quizzes/{quizId}/questions/{id}", quiz.getId(), q.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"3\""))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(questionRepo.existsById(q.getId())).isTrue();
+
+        mockMvc.perform(delete("/api/quizzes/{quizId}/questions/{id}", quiz.getId(), q.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isNoContent());
+        assertThat(questionRepo.existsById(q.getId())).isFalse();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void list_cursorBreaksPositionTiesById() throws Exception {
+        Question a = positioned("A", Question.POSITION_GAP);
+        Question b = positioned("B", Question.POSITION_GAP);
+        Question c = positioned("C", Question.POSITION_GAP);
+
+        String cursor = mockMvc.perform(get("/api/quizzes/{quizId}/questions", quiz.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(a.getId()))
+                .andExpect(jsonPath("$[1].id").value(b.getId()))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/quizzes/{quizId}/questions", quiz.getId())
+                        .param("limit", "2")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(c.getId()))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void list_fullLastPage_hasNoNextCursor() throws Exception {
+        positioned("Q1", Question.POSITION_GAP);
+        positioned("Q2", 2 * Question.POSITION_GAP);
+
+        mockMvc.perform(get("/api/quizzes/{quizId}/questions", quiz.getId()).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void list_rejectsTamperedOrForeignCursor() throws Exception {
+        for (String cursor : List.of(
+                "not-a-cursor",
+                KeysetCursor.encode("quizzes", Question.POSITION_GAP, 1),
+                KeysetCursor.encode("questions", 1),
+                KeysetCursor.encode("questions", 1, 2, 3),
+                Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString("questions:x:1".getBytes(StandardCharsets.UTF_8)))) {
+            mockMvc.perform(get("/api/quizzes/{quizId}/questions", quiz.getId()).param("after", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    private Question positioned(String text, long position) {
+        Question q = new Question(text, List.of("A", "B"), List.of(0), quiz);
+        q.setPosition(position);
+        return questionRepo.save(q);
+    }
 }
@@ -84,6 +84,46 @@ class QuizControllerIntegrationTest {
                 .andExpect(jsonPath("$[?(@.title=='Quiz B')]").exists());
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listAll_quizzes_pagesWithCursorAndCourseFilter() throws Exception {
+        Course other = courseRepo.save(new Course("Geography", null, course.getOwner()));
+        for (int i = 0; i < 3; i++) {
+            quizRepo.save(new Quiz("History " + i, course));
+            quizRepo.save(new Quiz("Geography " + i, other));
+        }
+
+        String cursor = mockMvc.perform(get("/api/quizzes")
+                        .param("courseId", course.getId().toString())
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("History 0"))
+                .andExpect(jsonPath("$[1].title").value("History 1"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/quizzes")
+                        .param("courseId", course.getId().toString())
+                        .param("limit", "2")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("History 2"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void listAll_quizzes_rejectsForeignCursorAndOversizedLimit() throws Exception {
+        mockMvc.perform(get("/api/quizzes").param("after", KeysetCursor.encode("users", 5)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/quizzes").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/quizzes").param("limit", "1000"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getById_existing_returnsDto() throws Exception {
@@ -0,0 +1,34 @@
+package com.example.studybuddy.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RestExceptionHandlerTest {
+
+    private final RestExceptionHandler handler = new RestExceptionHandler();
+    private final ObjectOptimisticLockingFailureException stale =
+            new ObjectOptimisticLockingFailureException("Course", 1L);
+
+    @Test
+    void staleVersion_withIfMatch_isPreconditionFailed() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/courses/1");
+        request.addHeader(HttpHeaders.IF_MATCH, "\"3\"");
+
+        assertThat(handler.handleStaleVersion(stale, new ServletWebRequest(request)).getStatusCode())
+                .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void staleVersion_withoutPrecondition_isConflict() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/courses/1");
+
+        assertThat(handler.handleStaleVersion(stale, new ServletWebRequest(request)).getStatusCode())
+                .isEqualTo(HttpStatus.CONFLICT);
+    }
+}
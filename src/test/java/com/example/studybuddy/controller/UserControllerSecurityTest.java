@@ -82,6 +82,34 @@ class UserControllerIntegrationTest {
                 .andExpect(jsonPath("$.role").value("ADMIN"));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void list_pagesWithCursorUntilLastPage() throws Exception {
+        String cursor = mockMvc.perform(get("/api/users").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(aliceId))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/users").param("limit", "1").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(bobId))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void list_rejectsTamperedOrForeignCursor() throws Exception {
+        mockMvc.perform(get("/api/users").param("after", KeysetCursor.encode("questions", 1, aliceId)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users").param("after", KeysetCursor.encode("users", 1, 2)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users").param("after", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void getById_notFound() throws Exception {
@@ -0,0 +1,30 @@
+package com.example.studybuddy.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+    private final AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+    @Test
+    void upgradeEncoding_flagsHigherAndLowerCost() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("pw"))).isFalse();
+    }
+
+    @Test
+    void upgradeEncoding_ignoresNonBCryptValues() {
+        assertThat(encoder.upgradeEncoding("plain")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    void calibrate_staysWithinBounds() {
+        assertThat(BCryptCostCalibrator.calibrate(0, 4, 6)).isEqualTo(4);
+        assertThat(BCryptCostCalibrator.calibrate(10_000, 4, 6)).isBetween(4, 6);
+    }
+}
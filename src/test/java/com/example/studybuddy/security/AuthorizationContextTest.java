@@ -0,0 +1,96 @@
+package com.example.studybuddy.security;
+
+import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({AuthorizationContext.class, OwnershipIndex.class, PrimaryLookup.class})
+class AuthorizationContextTest {
+
+    @Autowired private AuthorizationContext authorization;
+    @Autowired private UserRepository userRepo;
+    @Autowired private CourseRepository courseRepo;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setUsername("owner");
+        owner.setPassword("irrelevant");
+        owner.setRole("INSTRUCTOR");
+        owner = userRepo.save(owner);
+
+        course = new Course();
+        course.setTitle("Algebra");
+        course.setOwner(owner);
+        course = courseRepo.save(course);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void caller_isResolvedOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        authenticate("owner", "ROLE_INSTRUCTOR");
+
+        AuthorizationContext.Caller first = authorization.caller();
+        assertThat(authorization.caller()).isSameAs(first);
+
+        authenticate("someoneElse", "ROLE_ADMIN");
+        assertThat(authorization.caller()).isNotSameAs(first);
+        assertThat(authorization.isAdmin()).isTrue();
+    }
+
+    @Test
+    void caller_outsideRequest_isNotShared() {
+        authenticate("owner", "ROLE_INSTRUCTOR");
+        assertThat(authorization.caller()).isNotSameAs(authorization.caller());
+    }
+
+    @Test
+    void requireCourseOwnerOrAdmin_checksOwnership() {
+        authenticate("owner", "ROLE_INSTRUCTOR");
+        authorization.requireCourseOwnerOrAdmin(course.getId(), "denied");
+
+        authenticate("stranger", "ROLE_INSTRUCTOR");
+        assertThatThrownBy(() -> authorization.requireCourseOwnerOrAdmin(course.getId(), "denied"))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessage("denied");
+
+        authenticate("admin", "ROLE_ADMIN");
+        authorization.requireCourseOwnerOrAdmin(course.getId(), "denied");
+        assertThatThrownBy(() -> authorization.requireCourseOwnerOrAdmin(9999L, "denied"))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private static void authenticate(String username, String authority) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority(authority))));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.studybuddy.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) executor.shutdown();
+    }
+
+    @Test
+    void delegatesToWrappedEncoder() {
+        executor = new PasswordHashingExecutor(1, 1, 1, registry);
+        PasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(false), executor);
+
+        assertThat(encoder.encode("pw")).isEqualTo("{x}pw");
+        assertThat(encoder.matches("pw", "{x}pw")).isTrue();
+        assertThat(registry.get("password.hash.duration").tag("op", "encode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void saturatedPool_rejectsWithRetryAfter() throws Exception {
+        executor = new PasswordHashingExecutor(1, 0, 3, registry);
+        PasswordEncoder encoder = new BoundedPasswordEncoder(new BlockingEncoder(true), executor);
+
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> encoder.matches("second", "{x}second"))
+                .isInstanceOf(PasswordHashingBusyException.class)
+                .extracting(ex -> ((PasswordHashingBusyException) ex).getRetryAfterSeconds())
+                .isEqualTo(3L);
+        assertThat(registry.get("password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isEqualTo("{x}first");
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        private final boolean block;
+
+        BlockingEncoder(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public String encode(CharSequence raw) {
+            if (block) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "{x}" + raw;
+        }
+
+        @Override
+        public boolean matches(CharSequence raw, String encoded) {
+            return encoded.equals("{x}" + raw);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.studybuddy.security;
+
+import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.Quiz;
+import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuizRepository;
+import com.example.studybuddy.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({OwnershipIndex.class, PrimaryLookup.class})
+class OwnershipIndexTest {
+
+    @Autowired private OwnershipIndex index;
+    @Autowired private UserRepository userRepo;
+    @Autowired private CourseRepository courseRepo;
+    @Autowired private QuizRepository quizRepo;
+
+    private User owner;
+    private User other;
+    private Course course;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        index.clear();
+        owner = userRepo.save(user("owner"));
+        other = userRepo.save(user("other"));
+
+        course = new Course();
+        course.setTitle("Algebra");
+        course.setOwner(owner);
+        course = courseRepo.save(course);
+
+        quiz = new Quiz();
+        quiz.setTitle("Week 1");
+        quiz.setCourse(course);
+        quiz = quizRepo.save(quiz);
+    }
+
+    @Test
+    void resolvesOwnerOfCourseAndQuiz() {
+        assertThat(index.ownerOfCourse(course.getId())).contains(owner.getId());
+        assertThat(index.courseOfQuiz(quiz.getId())).contains(course.getId());
+        assertThat(index.ownerOfQuiz(quiz.getId())).contains(owner.getId());
+    }
+
+    @Test
+    void unknownIds_areEmpty() {
+        assertThat(index.ownerOfCourse(9999L)).isEmpty();
+        assertThat(index.ownerOfQuiz(9999L)).isEmpty();
+    }
+
+    @Test
+    void courseChanged_reloadsOwner() {
+        assertThat(index.ownerOfCourse(course.getId())).contains(owner.getId());
+
+        course.setOwner(other);
+        courseRepo.saveAndFlush(course);
+        assertThat(index.ownerOfCourse(course.getId())).contains(owner.getId());
+
+        index.courseChanged(course.getId());
+        assertThat(index.ownerOfCourse(course.getId())).contains(other.getId());
+    }
+
+    @Test
+    void courseRemoved_dropsItsQuizzes() {
+        assertThat(index.ownerOfQuiz(quiz.getId())).contains(owner.getId());
+
+        quizRepo.deleteById(quiz.getId());
+        quizRepo.flush();
+        index.courseRemoved(course.getId());
+
+        assertThat(index.courseOfQuiz(quiz.getId())).isEmpty();
+    }
+
+    private static User user(String username) {
+        User u = new User();
+        u.setUsername(username);
+        u.setPassword("irrelevant");
+        u.setRole("INSTRUCTOR");
+        return u;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.studybuddy.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reports BCrypt throughput per cost factor. Not part of the regular suite;
+ * run with {@code mvn test -Dtest=PasswordHashingBenchmark}.
+ */
+class PasswordHashingBenchmark {
+
+    private static final int MIN_COST = Integer.getInteger("benchmark.bcrypt.min", 8);
+    private static final int MAX_COST = Integer.getInteger("benchmark.bcrypt.max", 12);
+    private static final long DURATION_MS = Long.getLong("benchmark.durationMs", 2_000);
+
+    @Test
+    void hashesPerSecondPerCore() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(cores);
+        try {
+            System.out.printf("BCrypt benchmark on %d cores%n", cores);
+            System.out.printf("%-6s %12s %14s %16s%n", "cost", "ms/hash", "hashes/s", "hashes/s/core");
+            for (int cost = MIN_COST; cost <= MAX_COST; cost++) {
+                BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+                encoder.encode("warm-up");
+
+                long deadline = System.currentTimeMillis() + DURATION_MS;
+                long start = System.nanoTime();
+                List<Future<Integer>> workers = new ArrayList<>();
+                for (int i = 0; i < cores; i++) {
+                    workers.add(pool.submit(() -> {
+                        int n = 0;
+                        do {
+                            encoder.encode("benchmark-password");
+                            n++;
+                        } while (System.currentTimeMillis() < deadline);
+                        return n;
+                    }));
+                }
+                long total = 0;
+                for (Future<Integer> w : workers) {
+                    total += w.get();
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                double perSecond = total / seconds;
+                System.out.printf("%-6d %12.1f %14.1f %16.1f%n",
+                        cost, 1000.0 * cores / perSecond, perSecond, perSecond / cores);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
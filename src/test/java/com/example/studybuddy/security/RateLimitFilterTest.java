@@ -0,0 +1,67 @@
+package com.example.studybuddy.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RateLimitFilter filter = new RateLimitFilter(new MockEnvironment()
+            .withProperty("security.rate-limit.login.per-ip", "3")
+            .withProperty("security.rate-limit.login.per-username", "2"),
+            new ObjectMapper(), registry);
+
+    @Test
+    void jsonLogin_limitedPerUsername_andBodyStillReadable() throws Exception {
+        assertThat(login("10.0.0.1", "Alice").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.2", "alice").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = login("10.0.0.3", "alice");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isNotNull();
+        assertThat(registry.get("rate.limit.rejected").tag("key", "username").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void login_limitedPerIp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(login("10.0.0.9", "user" + i).getStatus()).isEqualTo(200);
+        }
+        assertThat(login("10.0.0.9", "user9").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void otherEndpoints_areNotFiltered() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/courses");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse login(String ip, String username) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        String body = "{\"username\":\"" + username + "\",\"password\":\"secret\"}";
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        if (chain.getRequest() != null) {
+            String forwarded = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(forwarded).isEqualTo(body);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.studybuddy.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationBloomFilterTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void addedIds_areAlwaysReported() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(WINDOW, 4, 1000, 0.01);
+        long now = 1_000_000;
+        for (int i = 0; i < 1000; i++) {
+            filter.add("jti-" + i, now + (i % 60) * 1000, now);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.mightContain("jti-" + i, now)).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRate_staysNearTarget() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(WINDOW, 4, 1000, 0.01);
+        long now = 1_000_000;
+        for (int i = 0; i < 1000; i++) {
+            filter.add(UUID.randomUUID().toString(), now + (i % 60) * 1000, now);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString(), now)) falsePositives++;
+        }
+        assertThat(falsePositives).isLessThan(500);
+    }
+
+    @Test
+    void expiredSlices_areDropped() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(WINDOW, 4, 1000, 0.01);
+        long now = 1_000_000;
+        filter.add("short-lived", now + 1_000, now);
+
+        assertThat(filter.mightContain("short-lived", now)).isTrue();
+        assertThat(filter.mightContain("short-lived", now + 2 * WINDOW)).isFalse();
+    }
+}
@@ -5,6 +5,8 @@ import com.example.studybuddy.repository.CourseRepository;
 import com.example.studybuddy.repository.QuestionRepository;
 import com.example.studybuddy.repository.QuizRepository;
 import com.example.studybuddy.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
@@ -16,7 +18,10 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
@@ -45,8 +50,12 @@ class SecurityRulesTest {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private JwtKeyService keyService;
+
     private String studentToken;
     private String adminToken;
+    private Long adminId;
 
     @BeforeEach
     void setUp() {
@@ -65,7 +74,8 @@ class SecurityRulesTest {
         admin.setUsername("boss");
         admin.setPassword("also doesn't matter");
         admin.setRole("ADMIN");
-        userRepo.save(admin);
+        admin = userRepo.save(admin);
+        adminId = admin.getId();
 
         studentToken = "Bearer " + jwtUtils.generateToken(student.getUsername());
         adminToken   = "Bearer " + jwtUtils.generateToken(admin.getUsername());
@@ -98,4 +108,74 @@ class SecurityRulesTest {
                         .header(HttpHeaders.AUTHORIZATION, adminToken))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void claimsToken_authenticatesWithoutLoadingUser() throws Exception {
+        String token = "Bearer " + jwtUtils.generateToken(
+                new UserPrincipal(adminId, "boss", null, "ADMIN"));
+        userRepo.deleteAll();
+
+        mockMvc.perform(get("/api/courses")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void tamperedToken_returns401() throws Exception {
+        mockMvc.perform(get("/api/courses")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken + "x"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void hs256Token_returns401() throws Exception {
+        String forged = Jwts.builder()
+                .setSubject("boss")
+                .signWith(SignatureAlgorithm.HS256, "c2VjcmV0")
+                .compact();
+
+        mockMvc.perform(get("/api/courses")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + forged))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void jwks_isPublicAndListsSigningKey() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys[*].kid", hasItem(keyService.activeKey().kid())))
+                .andExpect(jsonPath("$.keys[0].kty").value("RSA"));
+    }
+
+    @Test
+    void rotatedKey_keepsEarlierTokensValid() throws Exception {
+        String before = keyService.activeKey().kid();
+        keyService.rotate();
+        assertThat(keyService.activeKey().kid()).isNotEqualTo(before);
+
+        String fresh = "Bearer " + jwtUtils.generateToken("boss");
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.AUTHORIZATION, fresh))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void logout_revokesCurrentToken() throws Exception {
+        String token = "Bearer " + jwtUtils.generateToken(
+                new UserPrincipal(adminId, "boss", null, "ADMIN"));
+
+        mockMvc.perform(get("/api/courses")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/courses")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/courses")
+                        .header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isOk());
+    }
 }
@@ -0,0 +1,45 @@
+package com.example.studybuddy.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigningKeyCipherTest {
+
+    private static final String KEY = "GJKt9S9vFKKWk00eroq2vRSHtVrKSu5r4E18j36Y0ks=";
+    private static final byte[] SECRET = "pkcs8-bytes".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void encrypt_roundTripsWithoutStoringPlaintext() throws Exception {
+        SigningKeyCipher cipher = new SigningKeyCipher(KEY);
+
+        String sealed = cipher.encrypt(SECRET, "kid-1");
+
+        assertThat(sealed).doesNotContain(Base64.getEncoder().encodeToString(SECRET));
+        assertThat(cipher.encrypt(SECRET, "kid-1")).isNotEqualTo(sealed);
+        assertThat(cipher.decrypt(sealed, "kid-1")).isEqualTo(SECRET);
+    }
+
+    @Test
+    void decrypt_rejectsOtherKidOrKey() {
+        String sealed = new SigningKeyCipher(KEY).encrypt(SECRET, "kid-1");
+
+        assertThatThrownBy(() -> new SigningKeyCipher(KEY).decrypt(sealed, "kid-2"))
+                .isInstanceOf(GeneralSecurityException.class);
+        assertThatThrownBy(() -> new SigningKeyCipher("AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=").decrypt(sealed, "kid-1"))
+                .isInstanceOf(GeneralSecurityException.class);
+    }
+
+    @Test
+    void constructor_rejectsMissingOrShortKey() {
+        assertThatThrownBy(() -> new SigningKeyCipher(""))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new SigningKeyCipher("c2hvcnQ="))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
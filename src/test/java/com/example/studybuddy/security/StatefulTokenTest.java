@@ -0,0 +1,46 @@
+package com.example.studybuddy.security;
+
+import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.stateless=false")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional
+class StatefulTokenTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserRepository userRepo;
+    @Autowired private JwtUtils jwtUtils;
+    @Autowired private TokenCache tokenCache;
+
+    @Test
+    void verifiedTokens_areNotCached() throws Exception {
+        tokenCache.invalidateAll();
+        User user = new User();
+        user.setUsername("stateful");
+        user.setPassword("irrelevant");
+        user.setRole("STUDENT");
+        userRepo.save(user);
+        String token = "Bearer " + jwtUtils.generateToken(user.getUsername());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/courses").header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(tokenCache.size()).isZero();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.studybuddy.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void allowsBurstThenRejectsWithWait() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, MINUTE, 100);
+        long now = 1_000_000L;
+
+        assertThat(limiter.tryAcquire("ip", now)).isZero();
+        assertThat(limiter.tryAcquire("ip", now)).isZero();
+        assertThat(limiter.tryAcquire("ip", now)).isZero();
+
+        long wait = limiter.tryAcquire("ip", now);
+        assertThat(wait).isEqualTo(MINUTE / 3);
+        assertThat(limiter.tryAcquire("other", now)).isZero();
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, MINUTE, 100);
+        long now = 0;
+        limiter.tryAcquire("k", now);
+        limiter.tryAcquire("k", now);
+        assertThat(limiter.tryAcquire("k", now)).isPositive();
+
+        assertThat(limiter.tryAcquire("k", now + MINUTE / 2)).isZero();
+        assertThat(limiter.tryAcquire("k", now + MINUTE / 2)).isPositive();
+    }
+
+    @Test
+    void idleBuckets_expireOnceRefilled() {
+        AtomicLong ticker = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, MINUTE, 100, ticker::get);
+        limiter.tryAcquire("old", 0);
+        ticker.set(MINUTE / 2);
+        limiter.tryAcquire("recent", MINUTE / 2);
+
+        ticker.set(MINUTE);
+        limiter.cleanUp();
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void newKeys_shareOverflowBucketWhenFull() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, MINUTE, 2, () -> 0L);
+        long now = 0;
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("b", now)).isZero();
+
+        assertThat(limiter.tryAcquire("flood-1", now)).isZero();
+        assertThat(limiter.tryAcquire("flood-2", now)).isZero();
+        assertThat(limiter.tryAcquire("flood-3", now)).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a", now)).isZero();
+    }
+}
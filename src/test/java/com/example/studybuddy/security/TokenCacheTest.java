@@ -0,0 +1,49 @@
+package com.example.studybuddy.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void put_thenGet_returnsPrincipalAndCountsHit() {
+        TokenCache cache = new TokenCache(100, registry);
+        UserPrincipal p = new UserPrincipal(1L, "jane", null, "STUDENT");
+        ByteBuffer key = TokenCache.digest("a.b.c");
+
+        assertThat(cache.get(key)).isNull();
+        cache.put(key, new VerifiedToken(p, "jti-1", System.currentTimeMillis() + 60_000));
+
+        assertThat(cache.get(TokenCache.digest("a.b.c")).principal()).isSameAs(p);
+        assertThat(registry.get("jwt.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("jwt.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntry_isNotServed() {
+        TokenCache cache = new TokenCache(100, registry);
+        ByteBuffer key = TokenCache.digest("x.y.z");
+        cache.put(key, new VerifiedToken(new UserPrincipal(1L, "jane", null, "STUDENT"), "jti-1",
+                System.currentTimeMillis() - 1));
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void sizeStaysBounded() {
+        TokenCache cache = new TokenCache(50, registry);
+        UserPrincipal p = new UserPrincipal(1L, "jane", null, "STUDENT");
+        for (int i = 0; i < 500; i++) {
+            cache.put(TokenCache.digest("token-" + i), new VerifiedToken(p, "jti-" + i, System.currentTimeMillis() + 60_000));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(50);
+    }
+}
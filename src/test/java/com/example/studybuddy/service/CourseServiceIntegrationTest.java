@@ -1,10 +1,17 @@
 package com.example.studybuddy.service;
 
 import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.Question;
+import com.example.studybuddy.model.Quiz;
 import com.example.studybuddy.model.User;
 import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuestionRepository;
+import com.example.studybuddy.repository.QuizRepository;
 import com.example.studybuddy.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -31,6 +38,15 @@ class CourseServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private EntityManager em;
+
     private User instructor;
     private Course baseCourse;
 
@@ -135,7 +151,38 @@ class CourseServiceIntegrationTest {
         Course saved = courseService.save(baseCourse);
         assertThat(courseRepository.count()).isOne();
 
-        courseService.deleteById(saved.getId());
+        courseService.deleteById(saved.getId(), null);
         assertThat(courseRepository.count()).isZero();
     }
+
+    @Test
+    void deleteById_removesQuizzesAndQuestionsWithoutLoadingThem() {
+        Course saved = courseService.save(baseCourse);
+        Question last = null;
+        for (int i = 0; i < 3; i++) {
+            Quiz quiz = quizRepository.save(new Quiz("Quiz " + i, saved));
+            for (int j = 0; j < 10; j++) {
+                last = questionRepository.save(new Question("Q" + j, List.of("a", "b"), List.of(0), quiz));
+            }
+        }
+        Quiz other = quizRepository.save(new Quiz("Other",
+                courseService.save(new Course("Other", null, instructor))));
+        questionRepository.save(new Question("Kept", List.of("a"), List.of(0), other));
+        em.flush();
+        em.createNativeQuery("insert into question_options (question_id, option_text) values (?1, 'legacy')")
+                .setParameter(1, last.getId()).executeUpdate();
+        em.clear();
+
+        Statistics stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        courseService.deleteById(saved.getId(), null);
+
+        assertThat(stats.getEntityLoadCount()).isZero();
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(7);
+        assertThat(courseRepository.existsById(saved.getId())).isFalse();
+        assertThat(quizRepository.findAll()).extracting(Quiz::getTitle).containsExactly("Other");
+        assertThat(questionRepository.findAll()).extracting(Question::getText).containsExactly("Kept");
+        assertThat(em.createNativeQuery("select count(*) from question_options").getSingleResult())
+                .isEqualTo(0L);
+    }
 }
@@ -0,0 +1,85 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.dto.BulkImportResult;
+import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.Quiz;
+import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuestionRepository;
+import com.example.studybuddy.repository.QuizRepository;
+import com.example.studybuddy.repository.UserRepository;
+import com.example.studybuddy.security.AuthorizationContext;
+import com.example.studybuddy.security.OwnershipIndex;
+import com.example.studybuddy.security.PrimaryLookup;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs inside the test's transaction, so every chunk shares one persistence
+ * context, the way it would under a transactional caller.
+ */
+@DataJpaTest
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({QuestionImportService.class, AuthorizationContext.class, OwnershipIndex.class, PrimaryLookup.class})
+class QuestionImportServiceTest {
+
+    @Autowired private QuestionImportService importService;
+    @Autowired private QuestionRepository questionRepo;
+    @Autowired private QuizRepository quizRepo;
+    @Autowired private CourseRepository courseRepo;
+    @Autowired private UserRepository userRepo;
+    @Autowired private EntityManager em;
+
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setUsername("owner");
+        owner.setPassword("irrelevant");
+        owner.setRole("INSTRUCTOR");
+        owner = userRepo.save(owner);
+        Course course = courseRepo.save(new Course("Geography", null, owner));
+        quiz = quizRepo.save(new Quiz("Capitals", course));
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void importQuestions_detachesEachChunk() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            csv.append("Question ").append(i).append(",Yes|No,0\n");
+        }
+
+        BulkImportResult result = importService.importQuestions(quiz.getId(),
+                QuestionImportService.Format.CSV, new StringReader(csv.toString()));
+
+        assertThat(result.getImported()).isEqualTo(7);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        assertThat(questionRepo.findAllByQuizIdOrderByPositionAscIdAsc(quiz.getId())).hasSize(7);
+    }
+}
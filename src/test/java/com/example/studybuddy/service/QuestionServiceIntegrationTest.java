@@ -1,6 +1,7 @@
 package com.example.studybuddy.service;
 
 import com.example.studybuddy.dto.CreateQuestionDTO;
+import com.example.studybuddy.dto.QuestionDTO;
 import com.example.studybuddy.model.Course;
 import com.example.studybuddy.model.Question;
 import com.example.studybuddy.model.Quiz;
@@ -9,7 +10,10 @@ import com.example.studybuddy.repository.CourseRepository;
 import com.example.studybuddy.repository.QuestionRepository;
 import com.example.studybuddy.repository.QuizRepository;
 import com.example.studybuddy.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -44,6 +48,9 @@ class QuestionServiceIntegrationTest {
     @Autowired
     private QuestionService questionService;
 
+    @Autowired
+    private EntityManager em;
+
     private User owner;
     private Course course;
     private Quiz quiz;
@@ -108,6 +115,66 @@ class QuestionServiceIntegrationTest {
         assertThat(all).isEmpty();
     }
 
+    @Test
+    void findAll_statementCountDoesNotGrowWithQuestions() {
+        for (int i = 0; i < 25; i++) {
+            questionRepo.save(new Question("Q" + i, List.of("a", "b"), List.of(i % 2), quiz));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        List<Question> all = questionService.findAllByQuiz(quiz.getId());
+        all.forEach(q -> {
+            q.getOptions();
+            q.getCorrectAnswers();
+            q.getQuiz().getId();
+        });
+
+        assertThat(all).hasSize(25);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findPageByQuiz_projectsRowsWithoutLoadingEntities() {
+        for (int i = 0; i < 3; i++) {
+            questionRepo.save(new Question("Q" + i, List.of("a", "b"), List.of(i % 2), quiz));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        KeysetPage<QuestionDTO> page = questionService.findPageByQuiz(quiz.getId(), 0, 0, 2);
+
+        assertThat(page.items()).extracting(QuestionDTO::getText).containsExactly("Q0", "Q1");
+        assertThat(page.items().get(1).getCorrectAnswers()).containsExactly(1);
+        assertThat(page.items()).allMatch(q -> q.getQuizId().equals(quiz.getId()));
+        assertThat(page.nextAfter()).isEqualTo(page.items().get(1).getId());
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findDtoById_fillsUnmigratedRowFromLegacyTables() {
+        Question legacy = questionRepo.save(new Question("Legacy", List.of(), List.of(), quiz));
+        em.flush();
+        em.createNativeQuery("update questions set options_json = null, answer_mask = null where id = ?1")
+                .setParameter(1, legacy.getId()).executeUpdate();
+        for (String option : List.of("x", "y")) {
+            em.createNativeQuery("insert into question_options (question_id, option_text) values (?1, ?2)")
+                    .setParameter(1, legacy.getId()).setParameter(2, option).executeUpdate();
+        }
+        em.createNativeQuery("insert into question_answers (question_id, correct_index) values (?1, 1)")
+                .setParameter(1, legacy.getId()).executeUpdate();
+        em.clear();
+
+        QuestionDTO dto = questionService.findDtoById(legacy.getId());
+
+        assertThat(dto.getOptions()).containsExactly("x", "y");
+        assertThat(dto.getCorrectAnswers()).containsExactly(1);
+    }
+
     @Test
     void create_validQuestionPersists() {
         authenticateAsOwner();
@@ -174,7 +241,7 @@ class QuestionServiceIntegrationTest {
         updateDto.setOptions(List.of("Yes","No","Maybe"));
         updateDto.setCorrectAnswers(List.of(2));
 
-        Question result = questionService.updateQuestion(quiz.getId(), saved.getId(), updateDto);
+        Question result = questionService.updateQuestion(quiz.getId(), saved.getId(), updateDto, null);
 
         assertThat(result.getText()).isEqualTo("New?");
         assertThat(result.getOptions()).containsExactly("Yes","No","Maybe");
@@ -191,7 +258,7 @@ class QuestionServiceIntegrationTest {
         dto.setCorrectAnswers(List.of(0));
         Question saved = questionService.createQuestion(quiz.getId(), dto);
 
-        questionService.deleteById(quiz.getId(), saved.getId());
+        questionService.deleteById(quiz.getId(), saved.getId(), null);
 
         assertThat(questionRepo.existsById(saved.getId())).isFalse();
     }
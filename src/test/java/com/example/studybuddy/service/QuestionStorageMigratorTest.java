@@ -0,0 +1,93 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.Question;
+import com.example.studybuddy.model.Quiz;
+import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuestionRepository;
+import com.example.studybuddy.repository.QuizRepository;
+import com.example.studybuddy.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(QuestionStorageMigrator.class)
+class QuestionStorageMigratorTest {
+
+    @Autowired private QuestionStorageMigrator migrator;
+    @Autowired private QuestionRepository questionRepo;
+    @Autowired private QuizRepository quizRepo;
+    @Autowired private CourseRepository courseRepo;
+    @Autowired private UserRepository userRepo;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private EntityManager em;
+
+    private Long legacyId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setUsername("owner");
+        owner.setPassword("irrelevant");
+        owner.setRole("INSTRUCTOR");
+        owner = userRepo.save(owner);
+
+        Course course = courseRepo.save(new Course("Biology", "Cells", owner));
+        Quiz quiz = quizRepo.save(new Quiz("Cells 101", course));
+        em.flush();
+
+        legacyId = 900_000L;
+        jdbc.update("insert into questions (id, text, quiz_id) values (?, 'Powerhouse?', ?)", legacyId, quiz.getId());
+        for (String option : List.of("Nucleus", "Mitochondria", "Ribosome")) {
+            jdbc.update("insert into question_options (question_id, option_text) values (?, ?)", legacyId, option);
+        }
+        jdbc.update("insert into question_answers (question_id, correct_index) values (?, 1)", legacyId);
+    }
+
+    @Test
+    void unmigratedQuestion_readsFromJoinTables() {
+        Question q = questionRepo.findById(legacyId).orElseThrow();
+
+        assertThat(q.getOptions()).containsExactly("Nucleus", "Mitochondria", "Ribosome");
+        assertThat(q.getAnswerKey().isCorrect(1)).isTrue();
+        assertThat(q.getCorrectAnswers()).containsExactly(1);
+    }
+
+    @Test
+    void migrateBatch_packsColumnsAndEmptiesJoinTables() {
+        assertThat(migrator.migrateBatch()).isEqualTo(1);
+        em.clear();
+
+        Question q = questionRepo.findById(legacyId).orElseThrow();
+        assertThat(q.getOptions()).containsExactly("Nucleus", "Mitochondria", "Ribosome");
+        assertThat(q.getAnswerKey().indices()).containsExactly(1);
+        assertThat(jdbc.queryForObject("select count(*) from question_options", Integer.class)).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from question_answers", Integer.class)).isZero();
+        assertThat(migrator.migrateBatch()).isZero();
+    }
+
+    @Test
+    void migrateBatch_leavesAnswerIndexBeyondMaskUnpacked() {
+        Long quizId = jdbc.queryForObject("select quiz_id from questions where id = ?", Long.class, legacyId);
+        Long wideId = legacyId + 1;
+        jdbc.update("insert into questions (id, text, quiz_id) values (?, 'Last of many?', ?)", wideId, quizId);
+        jdbc.update("insert into question_answers (question_id, correct_index) values (?, 64)", wideId);
+
+        assertThat(migrator.migrateBatch()).isEqualTo(1);
+        assertThat(migrator.migrateBatch()).isZero();
+
+        assertThat(jdbc.queryForObject("select answer_mask from questions where id = ?", Long.class, wideId)).isNull();
+        assertThat(jdbc.queryForObject("select correct_index from question_answers where question_id = ?",
+                Integer.class, wideId)).isEqualTo(64);
+    }
+}
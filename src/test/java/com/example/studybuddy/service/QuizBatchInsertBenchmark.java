@@ -0,0 +1,98 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.Question;
+import com.example.studybuddy.model.Quiz;
+import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuestionRepository;
+import com.example.studybuddy.repository.QuizRepository;
+import com.example.studybuddy.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates a quiz with 200 questions and reports insert throughput. Not part of
+ * the regular suite; run with {@code mvn test -Dtest=QuizBatchInsertBenchmark}.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class QuizBatchInsertBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(QuizBatchInsertBenchmark.class);
+
+    private static final int QUESTIONS = 200;
+    private static final int ROUNDS = 5;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private QuizRepository quizRepository;
+    @Autowired private QuestionRepository questionRepository;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private Course course;
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(new User("bench-owner", "irrelevant", "INSTRUCTOR"));
+        course = courseRepository.save(new Course("Bench", null, owner));
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("delete from questions where quiz_id in (select id from quizzes where course_id = ?)", course.getId());
+        jdbc.update("delete from quizzes where course_id = ?", course.getId());
+        jdbc.update("delete from courses where id = ?", course.getId());
+        jdbc.update("delete from users where id = ?", course.getOwner().getId());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void createQuizWith200Questions() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        createQuiz(tx, "warm-up");
+
+        long best = Long.MAX_VALUE;
+        long statements = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            stats.clear();
+            long start = System.nanoTime();
+            createQuiz(tx, "round " + round);
+            best = Math.min(best, System.nanoTime() - start);
+            statements = stats.getPrepareStatementCount();
+        }
+
+        double rowsPerSecond = (QUESTIONS + 1) / (best / 1e9);
+        log.info("Created a quiz with {} questions in {} ms ({} rows/s, {} statements)",
+                QUESTIONS, best / 1_000_000, Math.round(rowsPerSecond), statements);
+    }
+
+    private void createQuiz(TransactionTemplate tx, String title) {
+        tx.executeWithoutResult(status -> {
+            Quiz quiz = quizRepository.save(new Quiz(title, course));
+            List<Question> questions = new ArrayList<>(QUESTIONS);
+            for (int i = 0; i < QUESTIONS; i++) {
+                questions.add(new Question("Question " + i, List.of("a", "b", "c", "d"), List.of(i % 4), quiz));
+            }
+            questionRepository.saveAll(questions);
+        });
+    }
+}
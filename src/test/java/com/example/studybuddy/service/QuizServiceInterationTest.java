@@ -1,30 +1,41 @@
 package com.example.studybuddy.service;
 
 import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.Question;
 import com.example.studybuddy.model.Quiz;
 import com.example.studybuddy.model.User;
 import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuestionRepository;
 import com.example.studybuddy.repository.QuizRepository;
 import com.example.studybuddy.repository.UserRepository;
+import com.example.studybuddy.security.AuthorizationContext;
+import com.example.studybuddy.security.OwnershipIndex;
+import com.example.studybuddy.security.PrimaryLookup;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
 
 @DataJpaTest
-@Import(QuizService.class)
+@Import({QuizService.class, OwnershipIndex.class, AuthorizationContext.class, PrimaryLookup.class})
 class QuizServiceIntegrationTest {
 
     @Autowired private QuizService quizService;
     @Autowired private CourseRepository courseRepo;
     @Autowired private QuizRepository quizRepo;
     @Autowired private UserRepository userRepo;
+    @Autowired private QuestionRepository questionRepo;
+    @Autowired private EntityManager em;
     private Course savedCourse;
     private User savedOwner;
 
@@ -47,6 +58,22 @@ class QuizServiceIntegrationTest {
         savedCourse = courseRepo.save(c);
     }
 
+    @Test
+    void questionInserts_areBatched() {
+        Quiz quiz = quizRepo.saveAndFlush(new Quiz("Batched", savedCourse));
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            questions.add(new Question("Question " + i, List.of("a", "b"), List.of(i % 2), quiz));
+        }
+        Statistics stats = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        questionRepo.saveAll(questions);
+        em.flush();
+
+        assertThat(stats.getPrepareStatementCount()).isLessThan(20);
+    }
+
     @Test
     void findAll_empty_atStart() {
         List<Quiz> all = quizService.findAll();
@@ -109,7 +136,7 @@ class QuizServiceIntegrationTest {
         update.setTitle("New title");
         update.setCourse(null);
 
-        Quiz result = quizService.update(saved.getId(), update);
+        Quiz result = quizService.update(saved.getId(), update, null);
 
         assertThat(result.getTitle()).isEqualTo("New title");
         assertThat(result.getCourse().getId()).isEqualTo(savedCourse.getId());
@@ -134,7 +161,7 @@ class QuizServiceIntegrationTest {
         proxy.setId(saved2.getId());
         update.setCourse(proxy);
 
-        Quiz result = quizService.update(savedQuiz.getId(), update);
+        Quiz result = quizService.update(savedQuiz.getId(), update, null);
 
         assertThat(result.getCourse().getId()).isEqualTo(saved2.getId());
     }
@@ -153,7 +180,7 @@ class QuizServiceIntegrationTest {
         bogus.setId(555L);
         update.setCourse(bogus);
 
-        assertThatThrownBy(() -> quizService.update(saved.getId(), update))
+        assertThatThrownBy(() -> quizService.update(saved.getId(), update, null))
                 .isInstanceOf(EntityNotFoundException.class)
                 .hasMessageContaining("Course not found with id 555");
     }
@@ -165,7 +192,7 @@ class QuizServiceIntegrationTest {
         q.setCourse(savedCourse);
         Quiz saved = quizRepo.save(q);
 
-        quizService.deleteById(saved.getId());
+        quizService.deleteById(saved.getId(), null);
 
         assertThat(quizRepo.existsById(saved.getId())).isFalse();
     }
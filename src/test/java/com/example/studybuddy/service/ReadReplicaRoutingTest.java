@@ -0,0 +1,145 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.UserRepository;
+import com.example.studybuddy.security.OwnershipIndex;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Both pools point at the same in-memory database. The replica pool logs in as a
+ * user that may only select, so a write routed to it fails the way it would
+ * against a real replica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"
+                + ";INIT=CREATE USER IF NOT EXISTS READER PASSWORD 'reader'\\\\;GRANT SELECT ON SCHEMA PUBLIC TO READER",
+        "spring.datasource.replica.url=jdbc:h2:mem:routing;MODE=PostgreSQL",
+        "spring.datasource.replica.username=READER",
+        "spring.datasource.replica.password=reader",
+        "spring.datasource.replica.hikari.read-only=true"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private UserService userService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private OwnershipIndex ownershipIndex;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired @Qualifier("primaryDataSource") private HikariDataSource primary;
+    @Autowired @Qualifier("replicaDataSource") private HikariDataSource replica;
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        ownershipIndex.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        User saved = userRepository.save(new User("routed", "irrelevant", "STUDENT"));
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        String username = readOnly.execute(status -> {
+            String name = userService.findById(saved.getId()).getUsername();
+            assertThat(active(replica)).isEqualTo(1);
+            assertThat(active(primary)).isZero();
+            return name;
+        });
+
+        assertThat(username).isEqualTo("routed");
+    }
+
+    @Test
+    void readWriteTransactionsUsePrimary() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.save(new User("written", "irrelevant", "STUDENT"));
+            userRepository.flush();
+            assertThat(active(primary)).isEqualTo(1);
+            assertThat(active(replica)).isZero();
+        });
+
+        assertThat(userService.findByUsername("written")).isPresent();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void writeAfterReadInOneRequestUsesPrimary() throws Exception {
+        User saved = userRepository.save(new User("before", "irrelevant", "STUDENT"));
+
+        mockMvc.perform(put("/api/users/{id}", saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"after\",\"role\":\"INSTRUCTOR\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(userRepository.findById(saved.getId()).orElseThrow().getUsername()).isEqualTo("after");
+    }
+
+    @Test
+    void readOnlyTransactionsDoNotFillSecondLevelCache() {
+        User owner = userRepository.save(new User("cacheowner", "irrelevant", "INSTRUCTOR"));
+        Course course = courseRepository.save(new Course("Replica", null, owner));
+        entityManagerFactory.getCache().evictAll();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> assertThat(courseRepository.findById(course.getId())).isPresent());
+        assertThat(entityManagerFactory.getCache().contains(Course.class, course.getId())).isFalse();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> assertThat(courseRepository.findById(course.getId())).isPresent());
+        assertThat(entityManagerFactory.getCache().contains(Course.class, course.getId())).isTrue();
+    }
+
+    @Test
+    void ownershipLookupsInsideReadOnlyTransactionsUsePrimary() {
+        User owner = userRepository.save(new User("owner", "irrelevant", "INSTRUCTOR"));
+        Course course = courseRepository.save(new Course("Owned", null, owner));
+        ownershipIndex.clear();
+
+        // The replica user can no longer see courses: a lookup routed there would fail.
+        JdbcTemplate admin = new JdbcTemplate(primary);
+        admin.execute("REVOKE SELECT ON SCHEMA PUBLIC FROM READER");
+        admin.execute("GRANT SELECT ON TABLE USERS TO READER");
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            Long ownerId = readOnly.execute(status -> {
+                assertThat(userRepository.findById(owner.getId())).isPresent();
+                assertThat(active(replica)).isEqualTo(1);
+                return ownershipIndex.ownerOfCourse(course.getId()).orElse(null);
+            });
+            assertThat(ownerId).isEqualTo(owner.getId());
+        } finally {
+            admin.execute("REVOKE SELECT ON TABLE USERS FROM READER");
+            admin.execute("GRANT SELECT ON SCHEMA PUBLIC TO READER");
+        }
+    }
+
+    private static int active(HikariDataSource pool) {
+        return pool.getHikariPoolMXBean() == null ? 0 : pool.getHikariPoolMXBean().getActiveConnections();
+    }
+}
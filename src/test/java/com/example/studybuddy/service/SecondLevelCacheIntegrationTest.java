@@ -0,0 +1,109 @@
+package com.example.studybuddy.service;
+
+import com.example.studybuddy.model.Course;
+import com.example.studybuddy.model.Question;
+import com.example.studybuddy.model.Quiz;
+import com.example.studybuddy.model.User;
+import com.example.studybuddy.repository.CourseRepository;
+import com.example.studybuddy.repository.QuestionRepository;
+import com.example.studybuddy.repository.QuizRepository;
+import com.example.studybuddy.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private CourseRepository courseRepository;
+    @Autowired private QuizRepository quizRepository;
+    @Autowired private QuestionRepository questionRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Statistics stats;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User owner = userRepository.save(new User("cache-owner", "irrelevant", "INSTRUCTOR"));
+        Course course = courseRepository.save(new Course("Cached", null, owner));
+        quiz = quizRepository.save(new Quiz("Cached quiz", course));
+        questionRepository.saveAll(List.of(
+                new Question("Q1", List.of("a", "b"), List.of(0), quiz),
+                new Question("Q2", List.of("a", "b"), List.of(1), quiz)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        questionRepository.deleteAll();
+        quizRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void quizListingIsServedFromCacheAfterFirstLoad() {
+        listQuestions();
+
+        stats.clear();
+        List<Question> questions = listQuestions();
+
+        assertThat(questions).extracting(Question::getText).containsExactly("Q1", "Q2");
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void quizIsLoadedFromCacheById() {
+        tx.executeWithoutResult(status -> quizRepository.findById(quiz.getId()).orElseThrow());
+
+        stats.clear();
+        String title = tx.execute(status -> quizRepository.findById(quiz.getId()).orElseThrow().getTitle());
+
+        assertThat(title).isEqualTo("Cached quiz");
+        assertThat(stats.getPrepareStatementCount()).isZero();
+        assertThat(stats.getCacheRegionStatistics(Quiz.CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writesInvalidateCachedListing() {
+        listQuestions();
+
+        questionRepository.save(new Question("Q3", List.of("a", "b"), List.of(0), quiz));
+        tx.executeWithoutResult(status -> questionRepository.findAllByQuizIdOrderByPositionAscIdAsc(quiz.getId()).stream()
+                .filter(q -> q.getText().equals("Q1"))
+                .forEach(q -> q.setText("Q1 edited")));
+
+        assertThat(listQuestions()).extracting(Question::getText)
+                .containsExactlyInAnyOrder("Q1 edited", "Q2", "Q3");
+    }
+
+    private List<Question> listQuestions() {
+        return tx.execute(status -> {
+            List<Question> questions = questionRepository.findAllByQuizIdOrderByPositionAscIdAsc(quiz.getId());
+            questions.forEach(q -> {
+                q.getOptions();
+                q.getCorrectAnswers();
+            });
+            return questions;
+        });
+    }
+}